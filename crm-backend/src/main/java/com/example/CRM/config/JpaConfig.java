@@ -0,0 +1,63 @@
+package com.example.CRM.config;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Hibernate settings that the code relies on, kept here rather than in the
+ * (untracked) application.properties.
+ */
+@Configuration
+public class JpaConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${crm.jpa.batch-size:50}") int batchSize) {
+        return (Map<String, Object> props) -> {
+            props.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            props.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            props.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    /**
+     * Associations are LAZY; when several proxies of the same type are touched,
+     * Hibernate loads them with one IN (...) query per batch instead of one each.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchFetchCustomizer(
+            @Value("${crm.jpa.batch-fetch-size:32}") int batchFetchSize) {
+        return (Map<String, Object> props) ->
+                props.putIfAbsent(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, batchFetchSize);
+    }
+
+    /**
+     * MySQL Connector/J reads the whole result set into memory regardless of the
+     * fetch size unless {@code useCursorFetch=true}; with it, the fetch-size hints
+     * on the export and index streams open a server-side cursor. Left alone if the
+     * URL or the Hikari data source properties already set it.
+     */
+    @Bean
+    public static BeanPostProcessor mysqlCursorFetchPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource ds && ds.getJdbcUrl() != null
+                        && ds.getJdbcUrl().startsWith("jdbc:mysql:")
+                        && !ds.getJdbcUrl().contains("useCursorFetch")
+                        && !ds.getDataSourceProperties().containsKey("useCursorFetch")) {
+                    ds.addDataSourceProperty("useCursorFetch", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.example.CRM.security.CrmUserDetails;
 import com.example.CRM.service.UsersDetailsService;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -81,7 +82,7 @@ public class SecurityConfig {
     response.setStatus(HttpServletResponse.SC_OK);
     response.setContentType("application/json");
 
-    org.springframework.security.core.userdetails.User user = (org.springframework.security.core.userdetails.User) authentication.getPrincipal();
+    CrmUserDetails user = (CrmUserDetails) authentication.getPrincipal();
     String role = user.getAuthorities().iterator().next().getAuthority();
 
     response.getWriter().write("{\"message\":\"Login successful\",\"role\":\"" + role + "\",\"username\":\"" + user.getUsername() + "\"}");
@@ -1,10 +1,11 @@
 package com.example.CRM.controller;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.time.LocalDateTime;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,13 +15,23 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.example.CRM.model.Client;
-import com.example.CRM.model.Lead;
+import com.example.CRM.dto.AdminClientView;
+import com.example.CRM.dto.AdminLeadView;
+import com.example.CRM.dto.AuditStats;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.ListQuery;
 import com.example.CRM.model.Users;
 import com.example.CRM.service.AdminService;
+import com.example.CRM.service.AuditTrail;
+import com.example.CRM.service.ExportService;
+import com.example.CRM.service.ListVersions;
+import com.example.CRM.service.PinningMonitor;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -35,6 +46,18 @@ private PasswordEncoder passwordEncoder;
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @Autowired
+    private ListVersions listVersions;
+
+    @Autowired
+    private ObjectProvider<PinningMonitor> pinningMonitor;
+
     @PostMapping("/addEmployee")
     public ResponseEntity<String> addEmployee(@Valid @RequestBody Users u, BindingResult result) {
         if (result.hasErrors()) {
@@ -47,40 +70,129 @@ private PasswordEncoder passwordEncoder;
                 .body("The employee was added successfully: " + u.getName());
     }
 
-   @GetMapping("/allLeads")
-public ResponseEntity<List<Map<String, Object>>> getAllLeads() {
-    List<Lead> leads = adminService.getAllLeads();
-
-    List<Map<String, Object>> response = leads.stream().map(lead -> {
-        Map<String, Object> leadMap = new HashMap<>();
-        leadMap.put("id", lead.getId());
-        leadMap.put("name", lead.getName());
-        leadMap.put("email", lead.getEmail());
-        leadMap.put("phone", lead.getPhone());
-        // add other lead fields you want
-        leadMap.put("assignedTo", lead.getAssignedTo() != null ? lead.getAssignedTo().getName() : null); 
-        return leadMap;
-    }).toList();
-
-    return ResponseEntity.ok(response);
+/**
+ * Conditional: 304 without querying when no lead changed since the caller's copy.
+ * {@code since} returns only the changes, as on the employee lists.
+ */
+@GetMapping("/allLeads")
+public ResponseEntity<?> getAllLeads(WebRequest request,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+    ListVersions.Tag tag = listVersions.forAll(ListVersions.Kind.LEADS);
+    if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+        return null; // 304 already written
+    }
+    if (since != null) {
+        return ResponseEntity.ok(adminService.getLeadChanges(since));
+    }
+    return ResponseEntity.ok(adminService.getAllLeads());
+}
+
+/**
+ * Keyset-paginated leads across all employees. Accepts status, assigneeId,
+ * from/to (createdAt), sort, limit and cursor.
+ */
+@GetMapping("/leads/page")
+public ResponseEntity<?> getLeadPage(ListQuery query, WebRequest request) {
+    ListVersions.Tag tag = listVersions.forAll(ListVersions.Kind.LEADS);
+    if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+        return null; // 304 already written
+    }
+    try {
+        CursorPage<AdminLeadView> page = adminService.getLeadPage(query);
+        return ResponseEntity.ok(page);
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 }
 
 @GetMapping("/allClients")
-public ResponseEntity<List<Map<String, Object>>> getAllClients() {
-    List<Client> clients = adminService.getAllClients();
-
-    List<Map<String, Object>> response = clients.stream().map(client -> {
-        Map<String, Object> clientMap = new HashMap<>();
-        clientMap.put("id", client.getId());
-        clientMap.put("name", client.getName());
-        clientMap.put("email", client.getEmail());
-        clientMap.put("phone", client.getPhone());
-        // add other client fields you want
-        clientMap.put("assignedTo", client.getAssignedTo() != null ? client.getAssignedTo().getName() : null); 
-        return clientMap;
-    }).toList();
-
-    return ResponseEntity.ok(response);
+public ResponseEntity<?> getAllClients(WebRequest request,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+    ListVersions.Tag tag = listVersions.forAll(ListVersions.Kind.CLIENTS);
+    if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+        return null; // 304 already written
+    }
+    if (since != null) {
+        return ResponseEntity.ok(adminService.getClientChanges(since));
+    }
+    return ResponseEntity.ok(adminService.getAllClients());
 }
 
+/**
+ * Keyset-paginated clients across all employees (assigneeId, from/to, sort, limit, cursor).
+ */
+@GetMapping("/clients/page")
+public ResponseEntity<?> getClientPage(ListQuery query, WebRequest request) {
+    ListVersions.Tag tag = listVersions.forAll(ListVersions.Kind.CLIENTS);
+    if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+        return null; // 304 already written
+    }
+    try {
+        CursorPage<AdminClientView> page = adminService.getClientPage(query);
+        return ResponseEntity.ok(page);
+    } catch (IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
+
+/**
+ * Streams every lead as CSV (default) or NDJSON without buffering the result set.
+ */
+@GetMapping("/export/leads")
+public void exportLeads(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response)
+        throws IOException {
+    ExportService.Format f = startExport(format, "leads", response);
+    if (f != null) {
+        exportService.writeLeads(f, response.getOutputStream());
+    }
+}
+
+/**
+ * Streams every client as CSV (default) or NDJSON without buffering the result set.
+ */
+@GetMapping("/export/clients")
+public void exportClients(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response)
+        throws IOException {
+    ExportService.Format f = startExport(format, "clients", response);
+    if (f != null) {
+        exportService.writeClients(f, response.getOutputStream());
+    }
+}
+
+private ExportService.Format startExport(String format, String name, HttpServletResponse response)
+        throws IOException {
+    ExportService.Format f;
+    try {
+        f = ExportService.Format.parse(format);
+    } catch (IllegalArgumentException e) {
+        response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        return null;
+    }
+    response.setContentType(f.getContentType());
+    response.setCharacterEncoding("UTF-8");
+    response.setHeader("Content-Disposition", "attachment; filename=\"" + name + "." + f.getExtension() + "\"");
+    return f;
+}
+
+    /**
+     * Where virtual threads got pinned to their carrier, most frequent first.
+     * Only available in virtual-thread mode.
+     */
+    @GetMapping("/diagnostics/pinning")
+    public ResponseEntity<?> getPinnedSites() {
+        PinningMonitor monitor = pinningMonitor.getIfAvailable();
+        if (monitor == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Pinning diagnostics are off; they need spring.threads.virtual.enabled=true");
+        }
+        return ResponseEntity.ok(monitor.sites());
+    }
+
+    /**
+     * Audit writer health: buffer depth, records written or lost, and batch flush latency.
+     */
+    @GetMapping("/audit/stats")
+    public AuditStats getAuditStats() {
+        return auditTrail.stats();
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.CRM.controller;
+
+import java.time.YearMonth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.CRM.dto.ArchivedLeadView;
+import com.example.CRM.dto.ArchivedTaskView;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.service.ArchiveService;
+import com.example.CRM.service.UserService;
+
+/**
+ * History of converted leads and completed tasks. Employees see their own;
+ * admins see everyone's, or one employee's with {@code assigneeId}.
+ */
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Converted leads, newest first. {@code month} (e.g. 2024-05) limits it to one
+     * month; pass the previous page's {@code nextCursor} to load older ones.
+     */
+    @GetMapping("/leads")
+    public ResponseEntity<?> leads(@RequestParam(required = false) YearMonth month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long assigneeId) {
+        try {
+            CursorPage<ArchivedLeadView> page = archiveService.getLeadPage(scope(assigneeId), month, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Completed tasks, most recently completed first. Same parameters as leads.
+     */
+    @GetMapping("/tasks")
+    public ResponseEntity<?> tasks(@RequestParam(required = false) YearMonth month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long assigneeId) {
+        try {
+            CursorPage<ArchivedTaskView> page = archiveService.getTaskPage(scope(assigneeId), month, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private Long scope(Long assigneeId) {
+        return userService.isCurrentUserAdmin() ? assigneeId : userService.getCurrentUser().getId();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.CRM.controller;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.CRM.dto.AuditEntry;
+import com.example.CRM.model.AuditEvent;
+import com.example.CRM.service.AuditTrail;
+import com.example.CRM.service.UserService;
+
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private static final int MAX_LIMIT = 500;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Status history of a lead or task ({@code type} is leads or tasks), newest first.
+     * Employees only see changes made while the record was assigned to them.
+     */
+    @GetMapping("/{type}/{id}")
+    public ResponseEntity<?> history(@PathVariable String type, @PathVariable Long id,
+            @RequestParam(defaultValue = "100") int limit) {
+        AuditEvent.EntityType entityType;
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case "leads", "lead" -> entityType = AuditEvent.EntityType.LEAD;
+            case "tasks", "task" -> entityType = AuditEvent.EntityType.TASK;
+            default -> {
+                return ResponseEntity.badRequest().body("type must be leads or tasks");
+            }
+        }
+        Long ownerId = userService.isCurrentUserAdmin() ? null : userService.getCurrentUser().getId();
+        List<AuditEntry> entries = auditTrail.history(entityType, id, ownerId,
+                Math.max(1, Math.min(limit, MAX_LIMIT)));
+        return ResponseEntity.ok(entries);
+    }
+}
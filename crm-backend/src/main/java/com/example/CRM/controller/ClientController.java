@@ -1,18 +1,22 @@
 package com.example.CRM.controller;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.example.CRM.model.Client;
+import com.example.CRM.dto.ClientView;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.ListQuery;
 import com.example.CRM.model.Users;
 import com.example.CRM.service.ClientService;
+import com.example.CRM.service.ListVersions;
 import com.example.CRM.service.UserService;
 
 @RestController
@@ -25,26 +29,44 @@ public class ClientController {
     @Autowired
     private UserService userService;  // ✅ Inject UserService to get the logged-in user
 
+    @Autowired
+    private ListVersions listVersions;
+
+    /**
+     * Conditional like myLeads: 304 when none of the caller's clients changed.
+     * {@code since} switches to delta mode like myLeads.
+     */
     @GetMapping("/myClients")
-    public List<Map<String, Object>> getMyClients() {
+    public ResponseEntity<?> getMyClients(WebRequest request,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
         // ✅ Get the logged-in user
         Users loggedInUser = userService.getCurrentUser();
+        ListVersions.Tag tag = listVersions.forEmployee(ListVersions.Kind.CLIENTS, loggedInUser.getId());
+        if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+            return null; // 304 already written
+        }
 
-        List<Map<String, Object>> response = new ArrayList<>();
-        List<Client> clients = clientService.getClientsByAssignedTo(loggedInUser);
-
-        for (Client c : clients) {
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", c.getId());
-            map.put("name", c.getName());
-            map.put("email", c.getEmail());
-            map.put("phone", c.getPhone());
-            map.put("company", c.getCompany());
-            map.put("createdAt", c.getCreatedAt());
-            map.put("assignedToName", c.getAssignedTo().getName());
-            response.add(map);
+        if (since != null) {
+            return ResponseEntity.ok(clientService.getClientChanges(loggedInUser, since));
         }
+        return ResponseEntity.ok(clientService.getClientsByAssignedTo(loggedInUser));
+    }
 
-        return response;
+    /**
+     * Keyset-paginated variant of myClients (from/to, sort, limit, cursor).
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getMyClientPage(ListQuery query, WebRequest request) {
+        Users loggedInUser = userService.getCurrentUser();
+        ListVersions.Tag tag = listVersions.forEmployee(ListVersions.Kind.CLIENTS, loggedInUser.getId());
+        if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+            return null; // 304 already written
+        }
+        try {
+            CursorPage<ClientView> page = clientService.getClientPage(query.forAssignee(loggedInUser.getId()));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
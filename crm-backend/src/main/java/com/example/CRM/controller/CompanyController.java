@@ -0,0 +1,32 @@
+package com.example.CRM.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.CRM.dto.CompanySuggestion;
+import com.example.CRM.service.CompanyIndex;
+
+@RestController
+@RequestMapping("/api/companies")
+public class CompanyController {
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private CompanyIndex companyIndex;
+
+    /**
+     * Typeahead for the company field: the most used existing company names
+     * starting with {@code prefix}, served from memory.
+     */
+    @GetMapping("/suggest")
+    public List<CompanySuggestion> suggest(@RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return companyIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.CRM.controller;
+
+import java.time.Year;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.CRM.dto.DashboardSummary;
+import com.example.CRM.dto.ListQuery;
+import com.example.CRM.dto.PipelineCounts;
+import com.example.CRM.dto.UserOverview;
+import com.example.CRM.model.Users;
+import com.example.CRM.service.DashboardService;
+import com.example.CRM.service.OverviewService;
+import com.example.CRM.service.PipelineCounters;
+import com.example.CRM.service.UserService;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private PipelineCounters pipelineCounters;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OverviewService overviewService;
+
+    /**
+     * Dashboard aggregates for the logged-in employee, or for everyone when the caller is an admin.
+     * {@code year} selects the months breakdown (default: current year).
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummary> getSummary(@RequestParam(required = false) Integer year) {
+        int y = year != null ? year : Year.now().getValue();
+
+        if (userService.isCurrentUserAdmin()) {
+            return ResponseEntity.ok(dashboardService.getOverallSummary(y));
+        }
+        Users currentUser = userService.getCurrentUser();
+        return ResponseEntity.ok(dashboardService.getSummary("user", List.of(currentUser.getId()), y));
+    }
+
+    /**
+     * Live pipeline totals from the in-memory counters; cheap enough for wallboards to poll.
+     */
+    @GetMapping("/pipeline")
+    public ResponseEntity<PipelineCounts> getPipeline() {
+        if (userService.isCurrentUserAdmin()) {
+            return ResponseEntity.ok(pipelineCounters.overall());
+        }
+        return ResponseEntity.ok(pipelineCounters.forEmployee(userService.getCurrentUser().getId()));
+    }
+
+    /**
+     * The caller's home screen in one round trip: the newest {@code limit} leads,
+     * tasks and clients (read concurrently) plus pipeline totals.
+     */
+    @GetMapping("/overview")
+    public ResponseEntity<?> getOverview(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > ListQuery.MAX_LIMIT) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + ListQuery.MAX_LIMIT);
+        }
+        UserOverview overview = overviewService.getOverview(userService.getCurrentUser().getId(), limit);
+        return ResponseEntity.ok(overview);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.CRM.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.CRM.service.ChangeFeed;
+import com.example.CRM.service.UserService;
+
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Live "change" events for the caller's leads, tasks and clients (all of them
+     * for admins), plus "reminder" events for the caller's tasks as they near or
+     * pass their due date, for use with the browser's EventSource. On a "resync"
+     * event, reload the lists.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return changeFeed.subscribe(userService.getCurrentUser().getId(), userService.isCurrentUserAdmin());
+    }
+}
@@ -1,39 +1,76 @@
 package com.example.CRM.controller;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 
-import com.example.CRM.model.Client;
+import com.example.CRM.dto.BulkResult;
+import com.example.CRM.dto.BulkStatusRequest;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.DuplicateMatch;
+import com.example.CRM.dto.ImportReport;
+import com.example.CRM.dto.LeadView;
+import com.example.CRM.dto.ListQuery;
 import com.example.CRM.model.Lead;
 import com.example.CRM.model.Users;
-import com.example.CRM.service.ClientService;
+import com.example.CRM.service.LeadAssigner;
+import com.example.CRM.service.LeadImportService;
 import com.example.CRM.service.LeadService;
+import com.example.CRM.service.ListVersions;
 import com.example.CRM.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 
 @RestController
 @RequestMapping("/api/leads")
 public class LeadController {
 
+    private static final int MAX_BULK_IDS = 1000;
+    private static final int MAX_TOP_K = 100;
+
     @Autowired
     private LeadService leadService;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private LeadImportService leadImportService;
+
+    @Autowired
+    private ListVersions listVersions;
+
+    @Autowired
+    private LeadAssigner leadAssigner;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Creates a lead assigned to the caller. With {@code assign} (e.g. from a web
+     * form) it goes to an employee picked by {@link LeadAssigner} instead:
+     * "auto" for the default strategy, or round-robin, least-open-leads or
+     * department-weighted. It falls back to the caller if nobody is eligible.
+     */
     @PostMapping("/newLead")
     public ResponseEntity<?> generateLead(
             @Valid @RequestBody Lead lead,
-            BindingResult result) {
+            BindingResult result,
+            @RequestParam(defaultValue = "false") boolean force,
+            @RequestParam(required = false) String assign) {
 
         if (result.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
@@ -48,40 +85,92 @@ public class LeadController {
                     .body("User not logged in");
         }
 
-        lead.setAssignedTo(currentUser);  
-        leadService.saveLead(lead);
+        Users assignee = currentUser;
+        if (assign != null) {
+            try {
+                Users picked = leadAssigner.assign(assign);
+                if (picked != null) {
+                    assignee = picked;
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        lead.setAssignedTo(assignee);
+        List<DuplicateMatch> duplicates = leadService.saveLead(lead, force);
+        if (!duplicates.isEmpty()) {
+            // Resubmit with ?force=true to create it anyway
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                    "message", "This lead looks like an existing contact",
+                    "duplicates", duplicates));
+        }
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body("The lead was created successfully: " + lead.getName());
     }
 
+    /**
+     * Supports If-None-Match / If-Modified-Since: answers 304 without querying
+     * when none of the caller's leads changed. With {@code since} (the previous
+     * response's watermark) returns only what changed as a {@code DeltaPage}.
+     */
     @GetMapping("/myLeads")
-    public ResponseEntity<List<Map<String, Object>>> getMyLeads() {
+    public ResponseEntity<?> getMyLeads(WebRequest request,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
         Users currentUser = userService.getCurrentUser();
         if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
+        ListVersions.Tag tag = listVersions.forEmployee(ListVersions.Kind.LEADS, currentUser.getId());
+        if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+            return null; // 304 already written
+        }
 
-        List<Map<String, Object>> response = new ArrayList<>();
-        leadService.getLeadsByAssignedTo(currentUser).forEach(l -> {
-            Map<String, Object> leadMap = new HashMap<>();
-            leadMap.put("id", l.getId());
-            leadMap.put("name", l.getName());
-            leadMap.put("email", l.getEmail());
-            leadMap.put("phone", l.getPhone());
-            leadMap.put("company", l.getCompany());
-            leadMap.put("status", l.getStatus());
-            leadMap.put("createdAt", l.getCreatedAt());
-            leadMap.put("updatedAt", l.getUpdatedAt());
-            leadMap.put("assignedToName", l.getAssignedTo().getName());
-            response.add(leadMap);
-        });
-
-        return ResponseEntity.ok(response);
+        if (since != null) {
+            return ResponseEntity.ok(leadService.getLeadChanges(currentUser, since));
+        }
+        return ResponseEntity.ok(leadService.getLeadsByAssignedTo(currentUser));
+    }
+
+    /**
+     * The caller's {@code k} hottest open leads with their scores, best first.
+     */
+    @GetMapping("/top")
+    public ResponseEntity<?> getTopLeads(@RequestParam(defaultValue = "10") int k) {
+        if (k < 1 || k > MAX_TOP_K) {
+            return ResponseEntity.badRequest().body("k must be between 1 and " + MAX_TOP_K);
+        }
+        Users currentUser = userService.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(leadService.getTopLeads(currentUser, k));
+    }
+
+    /**
+     * Keyset-paginated variant of myLeads. Supports status, from/to (createdAt),
+     * sort=asc|desc, limit and the cursor returned by the previous page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getMyLeadPage(ListQuery query, WebRequest request) {
+        Users currentUser = userService.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        ListVersions.Tag tag = listVersions.forEmployee(ListVersions.Kind.LEADS, currentUser.getId());
+        if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+            return null; // 304 already written
+        }
+        try {
+            CursorPage<LeadView> page = leadService.getLeadPage(query.forAssignee(currentUser.getId()));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PutMapping("/updateLead")
-    public ResponseEntity<String> updateLead(@RequestBody Lead leadPatch) {
+    public ResponseEntity<?> updateLead(@RequestBody Lead leadPatch) {
         Users currentUser = userService.getCurrentUser();
         if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -91,8 +180,77 @@ public class LeadController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Lead ID is required for update");
         }
+        Map<String, String> errors = patchErrors(leadPatch);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
 
         String resultMessage = leadService.updateLeadForUser(leadPatch, currentUser);
         return ResponseEntity.ok(resultMessage);
     }
+
+    /**
+     * Applies one status to many leads in a single transaction; CONVERTED turns
+     * them into clients. Ids that are not the caller's are reported as skipped.
+     */
+    @PutMapping("/bulkStatus")
+    public ResponseEntity<?> bulkUpdateStatus(@RequestBody BulkStatusRequest request) {
+        Users currentUser = userService.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("User not logged in");
+        }
+        if (request.ids() == null || request.ids().isEmpty() || request.status() == null) {
+            return ResponseEntity.badRequest().body("ids and status are required");
+        }
+        if (request.ids().size() > MAX_BULK_IDS) {
+            return ResponseEntity.badRequest().body("At most " + MAX_BULK_IDS + " leads per request");
+        }
+
+        BulkResult result = leadService.bulkUpdateStatus(request.ids(), request.status(), currentUser);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Bulk import: the request body is the CSV file itself (Content-Type: text/csv),
+     * read as a stream. Imported leads are assigned to the caller. Rows that look
+     * like existing contacts are rejected unless {@code force=true}. Returns per-row
+     * errors and throughput for the run.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importLeads(HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean force) throws IOException {
+        Users currentUser = userService.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("User not logged in");
+        }
+        try {
+            ImportReport report = leadImportService.importCsv(request.getInputStream(), currentUser, force);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Constraint violations of the fields a patch sets. The patch is applied by
+     * an UPDATE statement, so the entity constraints are not checked on write.
+     */
+    private Map<String, String> patchErrors(Lead patch) {
+        Map<String, String> errors = new HashMap<>();
+        checkField("name", patch.getName(), errors);
+        checkField("email", patch.getEmail(), errors);
+        checkField("phone", patch.getPhone(), errors);
+        checkField("company", patch.getCompany(), errors);
+        return errors;
+    }
+
+    private void checkField(String field, String value, Map<String, String> errors) {
+        if (value != null) {
+            for (ConstraintViolation<Lead> v : validator.validateValue(Lead.class, field, value)) {
+                errors.put(field, v.getMessage());
+            }
+        }
+    }
 }
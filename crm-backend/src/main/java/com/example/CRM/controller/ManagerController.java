@@ -0,0 +1,122 @@
+package com.example.CRM.controller;
+
+import java.time.Year;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.CRM.dto.ListQuery;
+import com.example.CRM.dto.PipelineCounts;
+import com.example.CRM.dto.TeamMember;
+import com.example.CRM.service.ClientService;
+import com.example.CRM.service.DashboardService;
+import com.example.CRM.service.LeadService;
+import com.example.CRM.service.OrgTree;
+import com.example.CRM.service.PipelineCounters;
+import com.example.CRM.service.TaskService;
+import com.example.CRM.service.UserService;
+
+/**
+ * Team views for managers. A team is everyone reporting to the caller, directly
+ * or through other managers (see {@link OrgTree}). List endpoints take the usual
+ * {@link ListQuery} parameters; {@code assigneeId} narrows them to one member.
+ */
+@RestController
+@RequestMapping("/api/Manager")
+public class ManagerController {
+
+    @Autowired
+    private OrgTree orgTree;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private PipelineCounters pipelineCounters;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * The caller's reporting subtree, direct reports first.
+     */
+    @GetMapping("/team")
+    public ResponseEntity<List<TeamMember>> getTeam() {
+        return ResponseEntity.ok(team().members());
+    }
+
+    @GetMapping("/team/leads")
+    public ResponseEntity<?> getTeamLeads(ListQuery query) {
+        try {
+            return ResponseEntity.ok(leadService.getLeadPage(query, assignees(query)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/team/tasks")
+    public ResponseEntity<?> getTeamTasks(ListQuery query) {
+        try {
+            return ResponseEntity.ok(taskService.getTaskPage(query, assignees(query)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/team/clients")
+    public ResponseEntity<?> getTeamClients(ListQuery query) {
+        try {
+            return ResponseEntity.ok(clientService.getClientPage(query, assignees(query)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Dashboard aggregates over the whole team; same shape as {@code /api/dashboard/summary}.
+     */
+    @GetMapping("/team/summary")
+    public ResponseEntity<?> getTeamSummary(@RequestParam(required = false) Integer year) {
+        int y = year != null ? year : Year.now().getValue();
+        return ResponseEntity.ok(dashboardService.getSummary("team", team().ids(), y));
+    }
+
+    /**
+     * Live pipeline totals summed over the team from the in-memory counters.
+     */
+    @GetMapping("/team/pipeline")
+    public ResponseEntity<PipelineCounts> getTeamPipeline() {
+        return ResponseEntity.ok(pipelineCounters.forEmployees("team", team().ids()));
+    }
+
+    private OrgTree.Team team() {
+        return orgTree.team(userService.getCurrentUser().getId());
+    }
+
+    /** The whole team, or just {@code assigneeId} after checking it belongs to it. */
+    private Collection<Long> assignees(ListQuery query) {
+        OrgTree.Team team = team();
+        if (query.assigneeId() == null) {
+            return team.ids();
+        }
+        if (!team.contains(query.assigneeId())) {
+            throw new IllegalArgumentException("Employee " + query.assigneeId() + " is not in your team");
+        }
+        return List.of(query.assigneeId());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.CRM.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.MessageView;
+import com.example.CRM.dto.SendMessageRequest;
+import com.example.CRM.dto.UnreadCounts;
+import com.example.CRM.model.Users;
+import com.example.CRM.service.MessageService;
+import com.example.CRM.service.UnreadCounters;
+import com.example.CRM.service.UserService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/messages")
+public class MessageController {
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UnreadCounters unreadCounters;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping
+    public ResponseEntity<?> send(@Valid @RequestBody SendMessageRequest request, BindingResult result) {
+        if (result.hasErrors()) {
+            Map<String, String> errors = new HashMap<>();
+            result.getFieldErrors().forEach(
+                    error -> errors.put(error.getField(), error.getDefaultMessage()));
+            return ResponseEntity.badRequest().body(errors);
+        }
+        Users currentUser = userService.getCurrentUser();
+        try {
+            MessageView sent = messageService.send(currentUser, request.receiverId(), request.content());
+            return ResponseEntity.status(HttpStatus.CREATED).body(sent);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Conversation with another user, newest first. Pass the previous page's
+     * {@code nextCursor} to load older messages.
+     */
+    @GetMapping("/with/{userId}")
+    public ResponseEntity<?> conversation(@PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Users currentUser = userService.getCurrentUser();
+        try {
+            CursorPage<MessageView> page = messageService.getConversationPage(currentUser, userId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Marks everything {@code userId} sent to the caller as read.
+     */
+    @PostMapping("/with/{userId}/read")
+    public ResponseEntity<Map<String, Integer>> markRead(@PathVariable Long userId) {
+        int marked = messageService.markConversationRead(userService.getCurrentUser(), userId);
+        return ResponseEntity.ok(Map.of("marked", marked));
+    }
+
+    @GetMapping("/unread")
+    public UnreadCounts unread() {
+        return unreadCounters.forUser(userService.getCurrentUser().getId());
+    }
+}
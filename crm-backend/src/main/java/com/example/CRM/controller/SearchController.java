@@ -0,0 +1,53 @@
+package com.example.CRM.controller;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.CRM.dto.SearchHit;
+import com.example.CRM.service.SearchIndex;
+import com.example.CRM.service.UserService;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Ranked search over lead and client names, emails and companies, served from
+     * memory. Employees only see their own records; admins see everyone's.
+     * {@code type} is leads, clients or all (default).
+     */
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "20") int limit) {
+        SearchIndex.Kind kind;
+        switch (type == null ? "all" : type.toLowerCase(Locale.ROOT)) {
+            case "all" -> kind = null;
+            case "leads", "lead" -> kind = SearchIndex.Kind.LEAD;
+            case "clients", "client" -> kind = SearchIndex.Kind.CLIENT;
+            default -> {
+                return ResponseEntity.badRequest().body("type must be leads, clients or all");
+            }
+        }
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Long ownerId = userService.isCurrentUserAdmin() ? null : userService.getCurrentUser().getId();
+        List<SearchHit> hits = searchIndex.search(q, kind, ownerId, size);
+        return ResponseEntity.ok(hits);
+    }
+}
@@ -1,21 +1,26 @@
 package com.example.CRM.controller;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.example.CRM.model.Lead;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.ListQuery;
+import com.example.CRM.dto.TaskView;
 import com.example.CRM.model.Task;
 import com.example.CRM.model.Users;
+import com.example.CRM.service.ListVersions;
 import com.example.CRM.service.TaskService;
 import com.example.CRM.service.UserService;
 
@@ -29,43 +34,56 @@ public class TaskController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ListVersions listVersions;
+
     @PostMapping("/newTask")
     public String createTask(@RequestBody Task t) {
         Users loggedInUser = userService.getCurrentUser();
         return taskService.createTask(t, loggedInUser);
     }
 
+    /**
+     * Conditional like myLeads: 304 when none of the caller's tasks (or their leads) changed.
+     * {@code since} switches to delta mode like myLeads.
+     */
     @GetMapping("/myTasks")
-    public List<Map<String, Object>> getMyTasks() {
+    public ResponseEntity<?> getMyTasks(WebRequest request,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
         Users loggedInUser = userService.getCurrentUser();
         if (loggedInUser == null) {
-            return List.of();
+            return ResponseEntity.ok(List.of());
+        }
+        ListVersions.Tag tag = listVersions.forEmployee(ListVersions.Kind.TASKS, loggedInUser.getId());
+        if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+            return null; // 304 already written
         }
 
-        List<Task> tasks = taskService.getTasksByAssignedTo(loggedInUser);
-        List<Map<String, Object>> response = new ArrayList<>();
-
-        for (Task t : tasks) {
-            Map<String, Object> taskMap = new HashMap<>();
-            taskMap.put("id", t.getId());
-            taskMap.put("title", t.getTitle());
-            taskMap.put("description", t.getDescription());
-            taskMap.put("status", t.getStatus());
-            taskMap.put("dueDate", t.getDueDate());
-            taskMap.put("assignedTo", t.getAssignedTo() != null ? t.getAssignedTo().getName() : null);
-
-            if (t.getRelatedLead() != null) {
-                taskMap.put("relatedLeadName", t.getRelatedLead().getName());
-                taskMap.put("relatedCompany", t.getRelatedLead().getCompany());
-            } else {
-                taskMap.put("relatedLeadName", null);
-                taskMap.put("relatedCompany", null);
-            }
-
-            response.add(taskMap);
+        if (since != null) {
+            return ResponseEntity.ok(taskService.getTaskChanges(loggedInUser, since));
         }
+        return ResponseEntity.ok(taskService.getTasksByAssignedTo(loggedInUser));
+    }
 
-        return response;
+    /**
+     * Keyset-paginated variant of myTasks (status, from/to, sort, limit, cursor).
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getMyTaskPage(ListQuery query, WebRequest request) {
+        Users loggedInUser = userService.getCurrentUser();
+        if (loggedInUser == null) {
+            return ResponseEntity.ok(new CursorPage<>(List.of(), null, false));
+        }
+        ListVersions.Tag tag = listVersions.forEmployee(ListVersions.Kind.TASKS, loggedInUser.getId());
+        if (request.checkNotModified(tag.etag(), tag.lastModified())) {
+            return null; // 304 already written
+        }
+        try {
+            CursorPage<TaskView> page = taskService.getTaskPage(query.forAssignee(loggedInUser.getId()));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PutMapping("/updateTask")
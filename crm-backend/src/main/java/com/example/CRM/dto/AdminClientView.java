@@ -0,0 +1,15 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Client as returned by the admin client lists.
+ */
+public record AdminClientView(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        LocalDateTime createdAt,
+        String assignedTo) implements KeysetRow {
+}
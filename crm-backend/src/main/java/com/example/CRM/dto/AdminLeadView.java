@@ -0,0 +1,15 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lead as returned by the admin lead lists.
+ */
+public record AdminLeadView(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        LocalDateTime createdAt,
+        String assignedTo) implements KeysetRow {
+}
@@ -0,0 +1,22 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A converted lead as returned by the archive endpoints. Paged by (archivedAt, id).
+ */
+public record ArchivedLeadView(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        String company,
+        LocalDateTime leadCreatedAt,
+        LocalDateTime archivedAt,
+        String assignedToName) implements KeysetRow {
+
+    @Override
+    public LocalDateTime createdAt() {
+        return archivedAt;
+    }
+}
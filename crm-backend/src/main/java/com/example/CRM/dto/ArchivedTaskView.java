@@ -0,0 +1,25 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed task as returned by the archive endpoints, with the related lead
+ * as it was at completion. Paged by (completedAt, id).
+ */
+public record ArchivedTaskView(
+        Long id,
+        String title,
+        String description,
+        LocalDateTime dueDate,
+        LocalDateTime taskCreatedAt,
+        LocalDateTime completedAt,
+        String assignedTo,
+        Long relatedLeadId,
+        String relatedLeadName,
+        String relatedCompany) implements KeysetRow {
+
+    @Override
+    public LocalDateTime createdAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.CRM.event.ChangeType;
+
+/**
+ * One line of an entity's history: who moved it from which status to which, and when.
+ * {@code fromStatus} is null on creation, {@code toStatus} on deletion.
+ */
+public record AuditEntry(Long id, ChangeType action, String fromStatus, String toStatus,
+        Long actorId, String actorName, LocalDateTime occurredAt) {
+}
@@ -0,0 +1,17 @@
+package com.example.CRM.dto;
+
+/**
+ * Health of the audit writer. {@code dropped} counts records discarded because the
+ * buffer stayed full; {@code failed} those lost to a failed batch insert.
+ */
+public record AuditStats(
+        int queueDepth,
+        int capacity,
+        long written,
+        long dropped,
+        long failed,
+        long flushes,
+        double lastFlushMillis,
+        double avgFlushMillis,
+        double maxFlushMillis) {
+}
@@ -0,0 +1,10 @@
+package com.example.CRM.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk operation. {@code skipped} holds ids that were not found
+ * or do not belong to the caller.
+ */
+public record BulkResult(int requested, int updated, List<Long> skipped) {
+}
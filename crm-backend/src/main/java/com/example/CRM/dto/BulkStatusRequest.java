@@ -0,0 +1,11 @@
+package com.example.CRM.dto;
+
+import java.util.List;
+
+import com.example.CRM.model.Lead;
+
+/**
+ * Body of a bulk status change: apply {@code status} to every lead in {@code ids}.
+ */
+public record BulkStatusRequest(List<Long> ids, Lead.LeadStatus status) {
+}
@@ -0,0 +1,11 @@
+package com.example.CRM.dto;
+
+import com.example.CRM.event.ChangeType;
+
+/**
+ * Pushed on the change feed. {@code entity} is "lead", "task" or "client";
+ * {@code status} is the new status, null when it did not change or for clients.
+ * Clients re-fetch the record (or drop it for DELETED/CONVERTED/COMPLETED).
+ */
+public record ChangeNotification(String entity, ChangeType type, Long id, Long assigneeId, String status) {
+}
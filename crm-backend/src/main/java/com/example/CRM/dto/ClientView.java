@@ -0,0 +1,16 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Client as returned by the employee client lists.
+ */
+public record ClientView(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        String company,
+        LocalDateTime createdAt,
+        String assignedToName) implements KeysetRow {
+}
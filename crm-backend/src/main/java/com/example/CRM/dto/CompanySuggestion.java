@@ -0,0 +1,7 @@
+package com.example.CRM.dto;
+
+/**
+ * A company name completion and how many leads and clients use it.
+ */
+public record CompanySuggestion(String name, int count) {
+}
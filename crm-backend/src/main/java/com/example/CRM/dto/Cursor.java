@@ -0,0 +1,39 @@
+package com.example.CRM.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page in (createdAt, id) order.
+ * Sent to clients as an opaque base64 token. Rows created before createdAt was
+ * recorded have none; their cursor leaves the timestamp empty.
+ */
+public record Cursor(LocalDateTime createdAt, Long id) {
+
+    public static Cursor of(KeysetRow row) {
+        return new Cursor(row.createdAt(), row.id());
+    }
+
+    public String encode() {
+        String raw = (createdAt != null ? createdAt.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String time = raw.substring(0, sep);
+            return new Cursor(time.isEmpty() ? null : LocalDateTime.parse(time),
+                    Long.valueOf(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
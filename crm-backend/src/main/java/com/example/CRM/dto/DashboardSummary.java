@@ -0,0 +1,31 @@
+package com.example.CRM.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated dashboard figures. Totals and per-status counts are all-time;
+ * {@code months} covers January to December of {@code year}; the "due today"
+ * counts only include tasks that are not completed.
+ *
+ * @param scope "user" for the caller's own records, "all" for the admin view
+ */
+public record DashboardSummary(
+        String scope,
+        int year,
+        long leads,
+        long clients,
+        long tasks,
+        Map<String, Long> leadsByStatus,
+        Map<String, Long> tasksByStatus,
+        long tasksDueToday,
+        long callsDueToday,
+        List<Month> months) {
+
+    /**
+     * Counts for one calendar month: leads created, clients created (conversions),
+     * tasks due and "call" tasks due.
+     */
+    public record Month(int month, long leads, long conversions, long tasksDue, long calls) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Changes to a list since the caller's watermark: rows created or updated, and
+ * ids removed. Apply {@code changed} first, then {@code deleted}, and send
+ * {@code watermark} as {@code since} next time.
+ * <p>
+ * {@code fullResync} means the watermark was older than the retained tombstones:
+ * {@code changed} is then the whole list and should replace the caller's copy.
+ */
+public record DeltaPage<T>(List<T> changed, List<Long> deleted, LocalDateTime watermark, boolean fullResync) {
+}
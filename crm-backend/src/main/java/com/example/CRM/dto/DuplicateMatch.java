@@ -0,0 +1,10 @@
+package com.example.CRM.dto;
+
+import java.util.List;
+
+/**
+ * An existing lead or client that looks like the same contact. {@code type} is
+ * "lead" or "client"; {@code matchedOn} lists "email" and/or "phone".
+ */
+public record DuplicateMatch(String type, Long id, String name, String email, String phone, List<String> matchedOn) {
+}
@@ -0,0 +1,21 @@
+package com.example.CRM.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} is capped; {@code errorsTruncated}
+ * tells the caller that more rows failed than are listed.
+ */
+public record ImportReport(
+        long totalRows,
+        long imported,
+        long failed,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<RowError> errors,
+        boolean errorsTruncated) {
+
+    /** A rejected row, identified by its line in the uploaded file. */
+    public record RowError(long line, String email, List<String> messages) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A list row that can be paged with {@link Cursor}: every view carries its
+ * {@code createdAt} and {@code id}.
+ */
+public interface KeysetRow {
+
+    Long id();
+
+    LocalDateTime createdAt();
+}
@@ -0,0 +1,21 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.CRM.model.Lead;
+
+/**
+ * Lead as returned by the employee lead lists, selected column by column
+ * (assignee name included) instead of loading the entity.
+ */
+public record LeadView(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        String company,
+        Lead.LeadStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String assignedToName) implements KeysetRow {
+}
@@ -0,0 +1,67 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query parameters shared by the paginated list endpoints.
+ *
+ * @param cursor     token from the previous page's {@code nextCursor}, absent for the first page
+ * @param limit      page size, clamped to {@link #MAX_LIMIT}
+ * @param status     optional status filter (enum name, case-insensitive)
+ * @param assigneeId optional employee filter, only honoured on admin endpoints
+ * @param from       inclusive lower bound on createdAt
+ * @param to         exclusive upper bound on createdAt
+ * @param sort       "asc" or "desc" (default) on createdAt
+ */
+public record ListQuery(
+        String cursor,
+        Integer limit,
+        String status,
+        Long assigneeId,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        String sort) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    public int pageSize() {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public boolean ascending() {
+        if (sort == null || sort.isBlank() || sort.equalsIgnoreCase("desc")) {
+            return false;
+        }
+        if (sort.equalsIgnoreCase("asc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("sort must be 'asc' or 'desc'");
+    }
+
+    public Cursor after() {
+        return cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+    }
+
+    public <E extends Enum<E>> E status(Class<E> type) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + status);
+        }
+    }
+
+    /** Same query restricted to one employee, used by the "my" endpoints. */
+    public ListQuery forAssignee(Long userId) {
+        return new ListQuery(cursor, limit, status, userId, from, to, sort);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One message as returned by the conversation endpoints. {@code readAt} is null
+ * while unread. Paged by (sentAt, id).
+ */
+public record MessageView(Long id, Long senderId, Long receiverId, String content,
+        LocalDateTime sentAt, LocalDateTime readAt) implements KeysetRow {
+
+    @Override
+    public LocalDateTime createdAt() {
+        return sentAt;
+    }
+}
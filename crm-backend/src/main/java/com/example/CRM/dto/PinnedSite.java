@@ -0,0 +1,12 @@
+package com.example.CRM.dto;
+
+/**
+ * Where virtual threads were pinned to their carrier while blocking, as seen by
+ * the pinning monitor. {@code stack} holds the top frames, innermost first.
+ */
+public record PinnedSite(
+        String stack,
+        long count,
+        double totalMillis,
+        double maxMillis) {
+}
@@ -0,0 +1,15 @@
+package com.example.CRM.dto;
+
+import java.util.Map;
+
+/**
+ * Live pipeline totals served from memory.
+ *
+ * @param scope "user" for the caller's own records, "all" for the admin view
+ */
+public record PipelineCounts(
+        String scope,
+        Map<String, Long> leadsByStatus,
+        Map<String, Long> tasksByStatus,
+        long clients) {
+}
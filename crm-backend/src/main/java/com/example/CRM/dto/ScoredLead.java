@@ -0,0 +1,7 @@
+package com.example.CRM.dto;
+
+/**
+ * A lead with its current score, as returned by {@code /api/leads/top}.
+ */
+public record ScoredLead(double score, LeadView lead) {
+}
@@ -0,0 +1,7 @@
+package com.example.CRM.dto;
+
+/**
+ * One search result. {@code type} is "lead" or "client"; higher {@code score} ranks first.
+ */
+public record SearchHit(String type, Long id, String name, String email, String company, int score) {
+}
@@ -0,0 +1,14 @@
+package com.example.CRM.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Body of {@code POST /api/messages}.
+ */
+public record SendMessageRequest(
+        @NotNull(message = "receiverId is required") Long receiverId,
+        @NotBlank(message = "Message cannot be empty")
+        @Size(max = 2000, message = "Message cannot exceed 2000 characters") String content) {
+}
@@ -0,0 +1,21 @@
+package com.example.CRM.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.CRM.model.Task;
+
+/**
+ * Task as returned by the employee task lists, with the related lead's name
+ * and company joined in. Both are null when the task has no lead.
+ */
+public record TaskView(
+        Long id,
+        String title,
+        String description,
+        Task.TaskStatus status,
+        LocalDateTime dueDate,
+        LocalDateTime createdAt,
+        String assignedTo,
+        String relatedLeadName,
+        String relatedCompany) implements KeysetRow {
+}
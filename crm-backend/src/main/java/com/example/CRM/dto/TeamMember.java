@@ -0,0 +1,16 @@
+package com.example.CRM.dto;
+
+/**
+ * One employee in a manager's reporting subtree.
+ *
+ * @param depth 1 for direct reports, 2 for their reports, and so on
+ */
+public record TeamMember(
+        Long id,
+        String name,
+        String role,
+        String position,
+        String department,
+        Long managerId,
+        int depth) {
+}
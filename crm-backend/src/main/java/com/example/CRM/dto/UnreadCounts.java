@@ -0,0 +1,9 @@
+package com.example.CRM.dto;
+
+import java.util.Map;
+
+/**
+ * Unread messages for one user: the total and the count per sender id.
+ */
+public record UnreadCounts(long total, Map<Long, Long> bySender) {
+}
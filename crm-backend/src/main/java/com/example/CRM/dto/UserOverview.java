@@ -0,0 +1,12 @@
+package com.example.CRM.dto;
+
+/**
+ * Everything the home screen shows for one employee, in one response: the
+ * first page of their leads, tasks and clients, and their pipeline totals.
+ */
+public record UserOverview(
+        CursorPage<LeadView> leads,
+        CursorPage<TaskView> tasks,
+        CursorPage<ClientView> clients,
+        PipelineCounts pipeline) {
+}
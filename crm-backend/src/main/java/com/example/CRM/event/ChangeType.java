@@ -0,0 +1,12 @@
+package com.example.CRM.event;
+
+/**
+ * What happened to a lead, task or client.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    CONVERTED,
+    COMPLETED,
+    DELETED
+}
@@ -0,0 +1,9 @@
+package com.example.CRM.event;
+
+/**
+ * Published whenever clients are created, directly or by converting leads.
+ * {@code previousDetails}/{@code details} follow the same rules as in {@link LeadChangedEvent}.
+ */
+public record ClientChangedEvent(ChangeType type, Long clientId, Long assigneeId,
+        ContactDetails previousDetails, ContactDetails details) {
+}
@@ -0,0 +1,32 @@
+package com.example.CRM.event;
+
+import com.example.CRM.model.Client;
+import com.example.CRM.model.Lead;
+
+/**
+ * Contact fields of a lead or client as committed, for listeners that index
+ * them (search, duplicate detection) without reading the row back.
+ */
+public record ContactDetails(String name, String email, String phone, String company) {
+
+    public static ContactDetails of(Lead l) {
+        return new ContactDetails(l.getName(), l.getEmail(), l.getPhone(), l.getCompany());
+    }
+
+    public static ContactDetails of(Client c) {
+        return new ContactDetails(c.getName(), c.getEmail(), c.getPhone(), c.getCompany());
+    }
+
+    /** These details with the non-null fields of {@code patch} applied, as a partial update does. */
+    public ContactDetails patchedWith(ContactDetails patch) {
+        return new ContactDetails(
+                patch.name() != null ? patch.name() : name,
+                patch.email() != null ? patch.email() : email,
+                patch.phone() != null ? patch.phone() : phone,
+                patch.company() != null ? patch.company() : company);
+    }
+
+    public boolean isEmpty() {
+        return name == null && email == null && phone == null && company == null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.CRM.event;
+
+/**
+ * An employee row was created or updated. Every cache of employee data listens
+ * for it; since rows embed their manager and views show names, listeners drop
+ * everything rather than just this employee.
+ */
+public record EmployeeChangedEvent(Long employeeId) {
+}
@@ -0,0 +1,21 @@
+package com.example.CRM.event;
+
+import com.example.CRM.model.Lead;
+
+/**
+ * Published by the lead write paths; listeners run after the transaction commits.
+ * {@code before}/{@code after} are the lead's status around the change, null when
+ * the lead did not exist yet / no longer exists, or when the status was not touched.
+ * {@code previousDetails}/{@code details} are the lead's contact fields around the
+ * change, following the same rules: null when there was no lead before / after, or
+ * when the contact fields were not touched.
+ */
+public record LeadChangedEvent(
+        ChangeType type,
+        Long leadId,
+        Long assigneeId,
+        Lead.LeadStatus before,
+        Lead.LeadStatus after,
+        ContactDetails previousDetails,
+        ContactDetails details) {
+}
@@ -0,0 +1,13 @@
+package com.example.CRM.event;
+
+import com.example.CRM.model.Lead;
+
+/**
+ * A lead's status and contact fields as read (and locked) just before a change.
+ */
+public record LeadState(Long id, Lead.LeadStatus status, String name, String email, String phone, String company) {
+
+    public ContactDetails details() {
+        return new ContactDetails(name, email, phone, company);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.CRM.event;
+
+/**
+ * Published when a message is stored; listeners run after the transaction commits.
+ */
+public record MessageSentEvent(Long messageId, Long senderId, Long receiverId) {
+}
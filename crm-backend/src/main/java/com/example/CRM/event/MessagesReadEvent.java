@@ -0,0 +1,7 @@
+package com.example.CRM.event;
+
+/**
+ * {@code count} messages from {@code senderId} were marked read by {@code readerId}.
+ */
+public record MessagesReadEvent(Long readerId, Long senderId, int count) {
+}
@@ -0,0 +1,21 @@
+package com.example.CRM.event;
+
+import java.time.LocalDateTime;
+
+import com.example.CRM.model.Task;
+
+/**
+ * Published by the task write paths; listeners run after the transaction commits.
+ * {@code before}/{@code after} follow the same rules as {@link LeadChangedEvent}.
+ * {@code dueDate} is the due date after the change, null when it was not set or not touched.
+ * {@code relatedLeadId} is the task's lead, null when the write path does not know it.
+ */
+public record TaskChangedEvent(
+        ChangeType type,
+        Long taskId,
+        Long assigneeId,
+        Task.TaskStatus before,
+        Task.TaskStatus after,
+        LocalDateTime dueDate,
+        Long relatedLeadId) {
+}
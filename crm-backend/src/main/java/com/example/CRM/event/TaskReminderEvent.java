@@ -0,0 +1,15 @@
+package com.example.CRM.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code TaskReminders} when a task is about to fall due or has
+ * just become overdue. Not tied to a transaction.
+ */
+public record TaskReminderEvent(Kind kind, Long taskId, Long assigneeId, String title, LocalDateTime dueDate) {
+
+    public enum Kind {
+        DUE_SOON,
+        OVERDUE
+    }
+}
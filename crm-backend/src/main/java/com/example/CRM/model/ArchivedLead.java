@@ -0,0 +1,86 @@
+package com.example.CRM.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+
+/**
+ * A converted lead as it was when it left {@code leads}, under its original id.
+ * Rows are copied in by {@code ArchiveService} in the converting transaction and
+ * never updated.
+ * <p>
+ * {@code archiveMonth} (yyyymm) buckets the table: it leads both indexes, so one
+ * month is a single contiguous range, and since it follows {@code archivedAt},
+ * ordering by (archiveMonth, archivedAt, id) is the plain newest-first order.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_leads", indexes = {
+    @Index(name = "idx_archived_leads_month", columnList = "archive_month, archived_at, id"),
+    @Index(name = "idx_archived_leads_assignee", columnList = "assigned_to, archive_month, archived_at, id")
+})
+public class ArchivedLead {
+
+    @Id
+    private Long id;
+
+    private String name;
+    private String email;
+    private String phone;
+    private String company;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_to")
+    private Users assignedTo;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(nullable = false)
+    private int archiveMonth;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getCompany() {
+        return company;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Users getAssignedTo() {
+        return assignedTo;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public int getArchiveMonth() {
+        return archiveMonth;
+    }
+}
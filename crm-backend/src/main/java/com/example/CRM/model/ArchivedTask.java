@@ -0,0 +1,95 @@
+package com.example.CRM.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+
+/**
+ * A completed task as it was when it left {@code tasks}, under its original id.
+ * The related lead is kept as a plain id plus its name and company at the time,
+ * since the lead may be converted and archived itself later. Bucketed by month
+ * like {@link ArchivedLead}.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_tasks", indexes = {
+    @Index(name = "idx_archived_tasks_month", columnList = "archive_month, archived_at, id"),
+    @Index(name = "idx_archived_tasks_assignee", columnList = "assigned_to, archive_month, archived_at, id")
+})
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    private String title;
+    private String description;
+
+    private LocalDateTime dueDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_to")
+    private Users assignedTo;
+
+    private Long relatedLeadId;
+    private String relatedLeadName;
+    private String relatedCompany;
+
+    // When the task was completed
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(nullable = false)
+    private int archiveMonth;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Users getAssignedTo() {
+        return assignedTo;
+    }
+
+    public Long getRelatedLeadId() {
+        return relatedLeadId;
+    }
+
+    public String getRelatedLeadName() {
+        return relatedLeadName;
+    }
+
+    public String getRelatedCompany() {
+        return relatedCompany;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public int getArchiveMonth() {
+        return archiveMonth;
+    }
+}
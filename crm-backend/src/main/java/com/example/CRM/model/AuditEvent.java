@@ -0,0 +1,92 @@
+package com.example.CRM.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import com.example.CRM.event.ChangeType;
+
+import jakarta.persistence.*;
+
+/**
+ * One status transition of a lead or task. Append-only: rows are inserted in
+ * JDBC batches by {@code AuditTrail} and never updated.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_events", indexes = {
+    @Index(name = "idx_audit_entity", columnList = "entity_type, entity_id, occurred_at, id")
+})
+public class AuditEvent {
+
+    public enum EntityType {
+        LEAD,
+        TASK
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    // Assignee at the time of the change; history is filtered on it for employees
+    private Long ownerId;
+
+    // Logged-in user who made the change; null for system changes
+    private Long actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ChangeType action;
+
+    @Column(length = 20)
+    private String fromStatus;
+
+    @Column(length = 20)
+    private String toStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public ChangeType getAction() {
+        return action;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -4,11 +4,21 @@ import java.time.LocalDateTime;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "clients")
+@NamedEntityGraph(name = "Client.withAssignee", attributeNodes = @NamedAttributeNode("assignedTo"))
+@Table(name = "clients", indexes = {
+    @Index(name = "idx_clients_created", columnList = "created_at, id"),
+    @Index(name = "idx_clients_assignee_created", columnList = "assigned_to, created_at, id"),
+    // Delta sync (?since=)
+    @Index(name = "idx_clients_assignee_updated", columnList = "assigned_to, updated_at"),
+    @Index(name = "idx_clients_updated", columnList = "updated_at"),
+    @Index(name = "idx_clients_source_lead", columnList = "source_lead_id")
+})
 public class Client {
 
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_seq")
+    @SequenceGenerator(name = "client_seq", sequenceName = "clients_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -17,9 +27,13 @@ public class Client {
     private String company;
     private String address; // Optional: filled later or "N/A"
 
+    // Id of the lead this client was converted from, if any
+    private Long sourceLeadId;
+
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to")
     private Users assignedTo;
 
@@ -73,7 +87,14 @@ public class Client {
         this.address = address;
     }
 
-   
+    public Long getSourceLeadId() {
+        return sourceLeadId;
+    }
+
+    public void setSourceLeadId(Long sourceLeadId) {
+        this.sourceLeadId = sourceLeadId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -82,6 +103,14 @@ public class Client {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public Users getAssignedTo() {
         return assignedTo;
     }
@@ -94,6 +123,7 @@ public class Client {
     public String toString() {
         return "Client [id=" + id + ", name=" + name + ", email=" + email + ", phone=" + phone
                 + ", company=" + company + ", address=" + address + ", status="
-                + ", createdAt=" + createdAt + ", assignedTo=" + assignedTo + "]";
+                + ", createdAt=" + createdAt + ", updatedAt=" + updatedAt + ", assignedToId="
+                + (assignedTo != null ? assignedTo.getId() : null) + "]";
     }
 }
@@ -10,7 +10,14 @@ import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "leads")
+@NamedEntityGraph(name = "Lead.withAssignee", attributeNodes = @NamedAttributeNode("assignedTo"))
+@Table(name = "leads", indexes = {
+    @Index(name = "idx_leads_created", columnList = "created_at, id"),
+    @Index(name = "idx_leads_assignee_created", columnList = "assigned_to, created_at, id"),
+    // Delta sync (?since=)
+    @Index(name = "idx_leads_assignee_updated", columnList = "assigned_to, updated_at"),
+    @Index(name = "idx_leads_updated", columnList = "updated_at")
+})
 public class Lead {
 
     public enum LeadStatus {
@@ -21,8 +28,10 @@ public class Lead {
         CONVERTED
     }
 
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lead_seq")
+    @SequenceGenerator(name = "lead_seq", sequenceName = "leads_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -51,7 +60,7 @@ public class Lead {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to")
     private Users assignedTo;
 
@@ -142,7 +151,7 @@ public class Lead {
                 ", status=" + status +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
-                ", assignedTo=" + assignedTo +
+                ", assignedToId=" + (assignedTo != null ? assignedTo.getId() : null) +
                 '}';
     }
 }
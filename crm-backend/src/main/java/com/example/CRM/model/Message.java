@@ -2,16 +2,23 @@ package com.example.CRM.model;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    // One direction of a conversation in time order; history pages are range scans of it
+    @Index(name = "idx_messages_conversation", columnList = "sender_id, receiver_id, timestamp, id"),
+    @Index(name = "idx_messages_unread", columnList = "receiver_id, read_at, sender_id")
+})
 public class Message {
 
     @Id
@@ -19,19 +26,24 @@ public class Message {
     private Long id;
 
     // Sender of the message
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id")
     private Users sender;
 
     // Receiver of the message
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "receiver_id")
     private Users receiver;
 
+    @Column(length = 2000)
     private String content;
 
     private LocalDateTime timestamp;
 
+    // Null until the receiver marks the conversation read
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
     // === Getters and Setters ===
 
     public Long getId() {
@@ -74,10 +86,19 @@ public class Message {
         this.timestamp = timestamp;
     }
 
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+
+    public void setReadAt(LocalDateTime readAt) {
+        this.readAt = readAt;
+    }
+
     @Override
     public String toString() {
-        return "Message [id=" + id + ", sender=" + sender.getName() +
-               ", receiver=" + receiver.getName() + ", content=" + content +
+        // Ids only: the participants are lazy and may be detached proxies
+        return "Message [id=" + id + ", senderId=" + (sender != null ? sender.getId() : null) +
+               ", receiverId=" + (receiver != null ? receiver.getId() : null) + ", content=" + content +
                ", timestamp=" + timestamp + "]";
     }
     
@@ -6,7 +6,21 @@ import jakarta.persistence.*;
 
 
 @Entity
-@Table(name = "tasks")
+// Task lists: the assignee plus the related lead (name/company) in the same select
+@NamedEntityGraph(name = "Task.withLead", attributeNodes = {
+    @NamedAttributeNode("assignedTo"),
+    @NamedAttributeNode("relatedLead")
+})
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_created", columnList = "created_at, id"),
+    @Index(name = "idx_tasks_assignee_created", columnList = "assigned_to, created_at, id"),
+    // Delta sync (?since=)
+    @Index(name = "idx_tasks_assignee_updated", columnList = "assigned_to, updated_at"),
+    // Touching or unlinking the tasks of one lead
+    @Index(name = "idx_tasks_related_lead", columnList = "related_lead"),
+    // Reminder window loads
+    @Index(name = "idx_tasks_due", columnList = "due_date")
+})
 public class Task {
     
     public enum TaskStatus {
@@ -14,8 +28,10 @@ public class Task {
         IN_PROGRESS,
         COMPLETED
     }
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -28,11 +44,11 @@ public class Task {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to")
     private Users assignedTo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "related_lead", nullable = true)
     private Lead relatedLead;
 
@@ -111,8 +127,9 @@ public class Task {
     @Override
     public String toString() {
         return "Task [id=" + id + ", title=" + title + ", description=" + description + ", status=" + status
-                + ", dueDate=" + dueDate + ", createdAt=" + createdAt + ", updatedAt=" + updatedAt + ", assignedTo="
-                + assignedTo + ", relatedLead=" + relatedLead + "]";
+                + ", dueDate=" + dueDate + ", createdAt=" + createdAt + ", updatedAt=" + updatedAt + ", assignedToId="
+                + (assignedTo != null ? assignedTo.getId() : null) + ", relatedLeadId="
+                + (relatedLead != null ? relatedLead.getId() : null) + "]";
     }
 
     // Getters and Setters
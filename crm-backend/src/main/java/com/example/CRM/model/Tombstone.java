@@ -0,0 +1,76 @@
+package com.example.CRM.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+
+/**
+ * Marker left behind when a lead, task or client row is removed (deleted, or
+ * converted / completed, which also delete), so delta syncs can report the id.
+ * Written in the deleting transaction and purged after the retention period.
+ */
+@Entity
+@Immutable
+@Table(name = "tombstones", indexes = {
+    @Index(name = "idx_tombstones_owner", columnList = "entity_type, owner_id, deleted_at"),
+    @Index(name = "idx_tombstones_deleted", columnList = "entity_type, deleted_at")
+})
+public class Tombstone {
+
+    public enum EntityType {
+        LEAD,
+        TASK,
+        CLIENT
+    }
+
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tombstone_seq")
+    @SequenceGenerator(name = "tombstone_seq", sequenceName = "tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    // Assignee when the row was removed; employees only see their own tombstones
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    protected Tombstone() {
+    }
+
+    public Tombstone(EntityType entityType, Long entityId, Long ownerId, LocalDateTime deletedAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.ownerId = ownerId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
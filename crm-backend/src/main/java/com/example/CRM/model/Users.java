@@ -2,8 +2,11 @@ package com.example.CRM.model;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -60,7 +63,7 @@ public class Users {
     @Size(max = 50, message = "Department cannot exceed 50 characters")
     private String department;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
 @JoinColumn(name = "manager_id")
 private Users manager;  // Manager for this employee
 
@@ -129,6 +132,14 @@ private List<Users> teamMembers;  // Employees under this manager
     public void setDepartment(String department) {
         this.department = department;
     }
+    // Write-only so request bodies can set {"manager": {"id": ...}} without responses touching the lazy proxy
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    public Users getManager() {
+        return manager;
+    }
+    public void setManager(Users manager) {
+        this.manager = manager;
+    }
     
     @Override
     public String toString() {
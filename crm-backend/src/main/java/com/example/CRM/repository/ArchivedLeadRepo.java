@@ -0,0 +1,65 @@
+package com.example.CRM.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.CRM.dto.ArchivedLeadView;
+import com.example.CRM.model.ArchivedLead;
+
+/**
+ * Archive pages are newest first and bounded by a month range, so each one is a
+ * range scan of a month-leading index: {@code [minMonth, maxMonth]} narrows it to
+ * the requested month, or to the months up to the cursor's.
+ */
+@Repository
+public interface ArchivedLeadRepo extends JpaRepository<ArchivedLead, Long> {
+
+    /**
+     * Copies the given leads into the archive in one INSERT ... SELECT. Must run
+     * before they are deleted; returns the number of rows archived.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            insert into ArchivedLead (id, name, email, phone, company, createdAt, updatedAt, assignedTo,
+                archivedAt, archiveMonth)
+            select l.id, l.name, l.email, l.phone, l.company, l.createdAt, l.updatedAt, l.assignedTo, :now, :month
+            from Lead l where l.id in :leadIds
+            """)
+    int insertFromLeads(@Param("leadIds") Collection<Long> leadIds, @Param("now") LocalDateTime now,
+            @Param("month") int month);
+
+    /** One employee's archived leads older than (archivedAt, id). */
+    @Query("""
+            select new com.example.CRM.dto.ArchivedLeadView(a.id, a.name, a.email, a.phone, a.company,
+                a.createdAt, a.archivedAt, u.name)
+            from ArchivedLead a left join a.assignedTo u
+            where a.assignedTo.id = :assigneeId and a.archiveMonth between :minMonth and :maxMonth
+              and (a.archivedAt < :archivedAt or (a.archivedAt = :archivedAt and a.id < :id))
+            order by a.archiveMonth desc, a.archivedAt desc, a.id desc
+            """)
+    List<ArchivedLeadView> findPageForAssignee(@Param("assigneeId") Long assigneeId,
+            @Param("minMonth") int minMonth, @Param("maxMonth") int maxMonth,
+            @Param("archivedAt") LocalDateTime archivedAt, @Param("id") Long id, Limit limit);
+
+    /** Same as {@link #findPageForAssignee} across all employees. */
+    @Query("""
+            select new com.example.CRM.dto.ArchivedLeadView(a.id, a.name, a.email, a.phone, a.company,
+                a.createdAt, a.archivedAt, u.name)
+            from ArchivedLead a left join a.assignedTo u
+            where a.archiveMonth between :minMonth and :maxMonth
+              and (a.archivedAt < :archivedAt or (a.archivedAt = :archivedAt and a.id < :id))
+            order by a.archiveMonth desc, a.archivedAt desc, a.id desc
+            """)
+    List<ArchivedLeadView> findPage(@Param("minMonth") int minMonth, @Param("maxMonth") int maxMonth,
+            @Param("archivedAt") LocalDateTime archivedAt, @Param("id") Long id, Limit limit);
+}
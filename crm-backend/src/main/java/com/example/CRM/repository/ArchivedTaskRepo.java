@@ -0,0 +1,65 @@
+package com.example.CRM.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.CRM.dto.ArchivedTaskView;
+import com.example.CRM.model.ArchivedTask;
+import com.example.CRM.model.Users;
+
+/**
+ * Paged like {@link ArchivedLeadRepo}.
+ */
+@Repository
+public interface ArchivedTaskRepo extends JpaRepository<ArchivedTask, Long> {
+
+    /**
+     * Copies the task into the archive if it belongs to {@code user}, with its
+     * related lead's current name and company. Must run before it is deleted;
+     * returns the number of rows archived.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            insert into ArchivedTask (id, title, description, dueDate, createdAt, updatedAt, assignedTo,
+                relatedLeadId, relatedLeadName, relatedCompany, archivedAt, archiveMonth)
+            select t.id, t.title, t.description, t.dueDate, t.createdAt, t.updatedAt, t.assignedTo,
+                rl.id, rl.name, rl.company, :now, :month
+            from Task t left join t.relatedLead rl where t.id = :id and t.assignedTo = :user
+            """)
+    int insertForOwner(@Param("id") Long id, @Param("user") Users user, @Param("now") LocalDateTime now,
+            @Param("month") int month);
+
+    /** One employee's completed tasks older than (archivedAt, id). */
+    @Query("""
+            select new com.example.CRM.dto.ArchivedTaskView(a.id, a.title, a.description, a.dueDate,
+                a.createdAt, a.archivedAt, u.name, a.relatedLeadId, a.relatedLeadName, a.relatedCompany)
+            from ArchivedTask a left join a.assignedTo u
+            where a.assignedTo.id = :assigneeId and a.archiveMonth between :minMonth and :maxMonth
+              and (a.archivedAt < :archivedAt or (a.archivedAt = :archivedAt and a.id < :id))
+            order by a.archiveMonth desc, a.archivedAt desc, a.id desc
+            """)
+    List<ArchivedTaskView> findPageForAssignee(@Param("assigneeId") Long assigneeId,
+            @Param("minMonth") int minMonth, @Param("maxMonth") int maxMonth,
+            @Param("archivedAt") LocalDateTime archivedAt, @Param("id") Long id, Limit limit);
+
+    /** Same as {@link #findPageForAssignee} across all employees. */
+    @Query("""
+            select new com.example.CRM.dto.ArchivedTaskView(a.id, a.title, a.description, a.dueDate,
+                a.createdAt, a.archivedAt, u.name, a.relatedLeadId, a.relatedLeadName, a.relatedCompany)
+            from ArchivedTask a left join a.assignedTo u
+            where a.archiveMonth between :minMonth and :maxMonth
+              and (a.archivedAt < :archivedAt or (a.archivedAt = :archivedAt and a.id < :id))
+            order by a.archiveMonth desc, a.archivedAt desc, a.id desc
+            """)
+    List<ArchivedTaskView> findPage(@Param("minMonth") int minMonth, @Param("maxMonth") int maxMonth,
+            @Param("archivedAt") LocalDateTime archivedAt, @Param("id") Long id, Limit limit);
+}
@@ -0,0 +1,31 @@
+package com.example.CRM.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.CRM.dto.AuditEntry;
+import com.example.CRM.model.AuditEvent;
+
+@Repository
+public interface AuditRepo extends JpaRepository<AuditEvent, Long> {
+
+    /**
+     * History of one lead or task, newest first. {@code ownerId} limits it to changes
+     * made while the entity was assigned to that employee; null for everything.
+     */
+    @Query("""
+            select new com.example.CRM.dto.AuditEntry(a.id, a.action, a.fromStatus, a.toStatus,
+                a.actorId, u.name, a.occurredAt)
+            from AuditEvent a left join Users u on u.id = a.actorId
+            where a.entityType = :type and a.entityId = :entityId
+              and (:ownerId is null or a.ownerId = :ownerId)
+            order by a.occurredAt desc, a.id desc
+            """)
+    List<AuditEntry> findHistory(@Param("type") AuditEvent.EntityType type, @Param("entityId") Long entityId,
+            @Param("ownerId") Long ownerId, Limit limit);
+}
@@ -1,17 +1,129 @@
 package com.example.CRM.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.CRM.dto.AdminClientView;
+import com.example.CRM.dto.ClientView;
 import com.example.CRM.model.Client;
 import com.example.CRM.model.Users;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ClientRepo extends JpaRepository<Client, Long> {
+public interface ClientRepo extends JpaRepository<Client, Long>, JpaSpecificationExecutor<Client> {
     // Define any custom query methods if needed
-            List<Client> findByAssignedTo(Users user);
+    @EntityGraph("Client.withAssignee")
+    List<Client> findByAssignedTo(Users user);
+
+    /** The user's clients as {@link ClientView} rows: only the returned columns, assignee name joined in. */
+    @Query("""
+            select new com.example.CRM.dto.ClientView(c.id, c.name, c.email, c.phone, c.company, c.createdAt, a.name)
+            from Client c left join c.assignedTo a where c.assignedTo = :user
+            """)
+    List<ClientView> findViewsByAssignedTo(@Param("user") Users user);
+
+    /** Same as {@link #findViewsByAssignedTo(Users)}, limited to clients updated after {@code since}. */
+    @Query("""
+            select new com.example.CRM.dto.ClientView(c.id, c.name, c.email, c.phone, c.company, c.createdAt, a.name)
+            from Client c left join c.assignedTo a where c.assignedTo = :user and c.updatedAt > :since
+            """)
+    List<ClientView> findViewsByAssignedToUpdatedAfter(@Param("user") Users user,
+            @Param("since") LocalDateTime since);
+
+    /** Every client as an {@link AdminClientView} row. */
+    @Query("""
+            select new com.example.CRM.dto.AdminClientView(c.id, c.name, c.email, c.phone, c.createdAt, a.name)
+            from Client c left join c.assignedTo a
+            """)
+    List<AdminClientView> findAllAdminViews();
+
+    /** Admin rows of the clients updated after {@code since}. */
+    @Query("""
+            select new com.example.CRM.dto.AdminClientView(c.id, c.name, c.email, c.phone, c.createdAt, a.name)
+            from Client c left join c.assignedTo a where c.updatedAt > :since
+            """)
+    List<AdminClientView> findAdminViewsUpdatedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Dashboard aggregate: rows of [year, month, count] over createdAt for the given employees.
+     */
+    @Query("""
+            select extract(year from c.createdAt), extract(month from c.createdAt), count(c)
+            from Client c where c.assignedTo.id in :assigneeIds
+            group by extract(year from c.createdAt), extract(month from c.createdAt)
+            """)
+    List<Object[]> countByMonth(@Param("assigneeIds") Collection<Long> assigneeIds);
+
+    /** Same as {@link #countByMonth(Collection)} across all employees. */
+    @Query("""
+            select extract(year from c.createdAt), extract(month from c.createdAt), count(c)
+            from Client c
+            group by extract(year from c.createdAt), extract(month from c.createdAt)
+            """)
+    List<Object[]> countByMonthOverall();
+
+    /** Rows of [assignee id, count]; used to reconcile the in-memory pipeline counters. */
+    @Query("select c.assignedTo.id, count(c) from Client c group by c.assignedTo.id")
+    List<Object[]> countByAssignee();
+
+    /**
+     * Set-based lead conversion: copies the given leads into clients in one
+     * INSERT ... SELECT. Returns the number of clients created.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            insert into Client (name, email, phone, company, address, sourceLeadId, createdAt, updatedAt, assignedTo)
+            select l.name, l.email, l.phone, l.company, 'N/A', l.id, :now, :now, l.assignedTo
+            from Lead l where l.id in :leadIds
+            """)
+    int insertFromLeads(@Param("leadIds") Collection<Long> leadIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Rows of [id, assignee id, name, email, phone, company] for the clients that
+     * {@link #insertFromLeads(Collection, LocalDateTime)} created from these leads.
+     * Lead ids come from a sequence and are never reused, so this matches exactly those rows.
+     */
+    @Query("""
+            select c.id, c.assignedTo.id, c.name, c.email, c.phone, c.company from Client c
+            where c.sourceLeadId in :leadIds
+            """)
+    List<Object[]> findCreatedFromLeads(@Param("leadIds") Collection<Long> leadIds);
+
+    /**
+     * Server-side cursor over every client for exports. Must be consumed inside a
+     * (read-only) transaction and closed by the caller. On MySQL this relies on
+     * {@code useCursorFetch=true}, which {@code JpaConfig} sets.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Client c left join fetch c.assignedTo order by c.id")
+    Stream<Client> streamAllForExport();
+
+    /** Rows of [company, count] over clients with a company; seeds the company typeahead. */
+    @Query("select c.company, count(c) from Client c where c.company is not null group by c.company")
+    List<Object[]> countByCompany();
+
+    /** Client counterpart of {@code LeadRepo.streamContactRows()}. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select c.id, c.assignedTo.id, c.name, c.email, c.phone, c.company from Client c")
+    Stream<Object[]> streamContactRows();
 
 
 }
@@ -0,0 +1,143 @@
+package com.example.CRM.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.CRM.dto.Cursor;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.KeysetRow;
+import com.example.CRM.dto.ListQuery;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Keyset (seek) pagination over (createdAt, id) for entities that have
+ * {@code createdAt}, {@code id}, {@code status} and {@code assignedTo}.
+ * Each page is a single indexed range scan of {@code limit + 1} rows, so the
+ * cost does not grow with the page number or the table size. Rows are built
+ * straight from the selected columns (see {@link Views}); no entity is loaded.
+ * <p>
+ * A null createdAt (rows from before it was recorded) sorts as the smallest
+ * value, as MySQL does natively, and the cursor condition follows suit.
+ */
+public final class Keyset {
+
+    private Keyset() {
+    }
+
+    public static <E, V extends KeysetRow> CursorPage<V> page(EntityManager em, Class<E> entityType,
+            ListQuery query, Enum<?> status, Class<V> viewType,
+            BiFunction<Root<E>, CriteriaBuilder, Selection<V>> columns) {
+        return page(em, entityType, query, null, status, viewType, columns);
+    }
+
+    /**
+     * Same as above, further restricted to rows assigned to one of {@code assigneeIds}
+     * ({@code assigned_to IN (...)}) unless it is null. An empty set yields an empty
+     * page without touching the database.
+     */
+    public static <E, V extends KeysetRow> CursorPage<V> page(EntityManager em, Class<E> entityType,
+            ListQuery query, Collection<Long> assigneeIds, Enum<?> status, Class<V> viewType,
+            BiFunction<Root<E>, CriteriaBuilder, Selection<V>> columns) {
+        if (assigneeIds != null && assigneeIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null, false);
+        }
+        boolean asc = query.ascending();
+        int size = query.pageSize();
+
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) em.getCriteriaBuilder();
+        CriteriaQuery<V> cq = cb.createQuery(viewType);
+        Root<E> root = cq.from(entityType);
+        cq.select(columns.apply(root, cb));
+
+        Specification<E> spec = Specification.allOf(
+                assignedTo(query.assigneeId()),
+                assignedToAny(assigneeIds),
+                hasStatus(status),
+                createdBetween(query.from(), query.to()),
+                after(query.after(), asc));
+        Predicate where = spec.toPredicate(root, cq, cb);
+        if (where != null) {
+            cq.where(where);
+        }
+        cq.orderBy(asc
+                ? List.of(cb.asc(root.get("createdAt"), true), cb.asc(root.get("id")))
+                : List.of(cb.desc(root.get("createdAt"), false), cb.desc(root.get("id"))));
+
+        List<V> rows = em.createQuery(cq).setMaxResults(size + 1).getResultList();
+
+        boolean hasMore = rows.size() > size;
+        List<V> items = hasMore ? rows.subList(0, size) : rows;
+        String next = hasMore ? Cursor.of(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items, next, hasMore);
+    }
+
+    static <T> Specification<T> assignedTo(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return (root, cq, cb) -> cb.equal(root.get("assignedTo").get("id"), userId);
+    }
+
+    static <T> Specification<T> assignedToAny(Collection<Long> userIds) {
+        if (userIds == null) {
+            return null;
+        }
+        return (root, cq, cb) -> root.get("assignedTo").get("id").in(userIds);
+    }
+
+    static <T> Specification<T> hasStatus(Enum<?> status) {
+        if (status == null) {
+            return null;
+        }
+        return (root, cq, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    static <T> Specification<T> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, cq, cb) -> {
+            if (from == null && to == null) {
+                return null;
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+            }
+            if (from == null) {
+                return cb.lessThan(root.get("createdAt"), to);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(root.get("createdAt"), from),
+                    cb.lessThan(root.get("createdAt"), to));
+        };
+    }
+
+    static <T> Specification<T> after(Cursor cursor, boolean asc) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, cq, cb) -> {
+            var createdAt = root.<LocalDateTime>get("createdAt");
+            var id = root.<Long>get("id");
+            if (cursor.createdAt() == null) {
+                // Nulls come first ascending, last descending
+                Predicate sameNullTime = cb.and(cb.isNull(createdAt),
+                        asc ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id()));
+                return asc ? cb.or(cb.isNotNull(createdAt), sameNullTime) : sameNullTime;
+            }
+            if (asc) {
+                return cb.or(cb.greaterThan(createdAt, cursor.createdAt()),
+                        cb.and(cb.equal(createdAt, cursor.createdAt()), cb.greaterThan(id, cursor.id())));
+            }
+            return cb.or(cb.lessThan(createdAt, cursor.createdAt()), cb.isNull(createdAt),
+                    cb.and(cb.equal(createdAt, cursor.createdAt()), cb.lessThan(id, cursor.id())));
+        };
+    }
+}
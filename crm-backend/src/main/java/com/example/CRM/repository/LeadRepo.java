@@ -1,14 +1,182 @@
 package com.example.CRM.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.CRM.dto.AdminLeadView;
+import com.example.CRM.dto.LeadView;
+import com.example.CRM.event.LeadState;
 import com.example.CRM.model.Lead;
 import com.example.CRM.model.Users;
 
-public interface LeadRepo extends JpaRepository<Lead, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface LeadRepo extends JpaRepository<Lead, Long>, JpaSpecificationExecutor<Lead> {
     
+        @EntityGraph("Lead.withAssignee")
         List<Lead> findByAssignedTo(Users user);
 
+        /** The user's leads as {@link LeadView} rows: only the returned columns, assignee name joined in. */
+        @Query("""
+                select new com.example.CRM.dto.LeadView(l.id, l.name, l.email, l.phone, l.company, l.status,
+                    l.createdAt, l.updatedAt, a.name)
+                from Lead l left join l.assignedTo a where l.assignedTo = :user
+                """)
+        List<LeadView> findViewsByAssignedTo(@Param("user") Users user);
+
+        /** Same as {@link #findViewsByAssignedTo(Users)}, limited to leads updated after {@code since}. */
+        @Query("""
+                select new com.example.CRM.dto.LeadView(l.id, l.name, l.email, l.phone, l.company, l.status,
+                    l.createdAt, l.updatedAt, a.name)
+                from Lead l left join l.assignedTo a where l.assignedTo = :user and l.updatedAt > :since
+                """)
+        List<LeadView> findViewsByAssignedToUpdatedAfter(@Param("user") Users user,
+                @Param("since") LocalDateTime since);
+
+        /** The given leads as {@link LeadView} rows, in no particular order. */
+        @Query("""
+                select new com.example.CRM.dto.LeadView(l.id, l.name, l.email, l.phone, l.company, l.status,
+                    l.createdAt, l.updatedAt, a.name)
+                from Lead l left join l.assignedTo a where l.id in :ids
+                """)
+        List<LeadView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+        /** Rows of [id, assignee id, status, company, updatedAt] for every assigned lead; seeds the lead scores. */
+        @Query("select l.id, l.assignedTo.id, l.status, l.company, l.updatedAt from Lead l where l.assignedTo is not null")
+        List<Object[]> findScoringRows();
+
+        /** Every lead as an {@link AdminLeadView} row. */
+        @Query("""
+                select new com.example.CRM.dto.AdminLeadView(l.id, l.name, l.email, l.phone, l.createdAt, a.name)
+                from Lead l left join l.assignedTo a
+                """)
+        List<AdminLeadView> findAllAdminViews();
+
+        /** Admin rows of the leads updated after {@code since}. */
+        @Query("""
+                select new com.example.CRM.dto.AdminLeadView(l.id, l.name, l.email, l.phone, l.createdAt, a.name)
+                from Lead l left join l.assignedTo a where l.updatedAt > :since
+                """)
+        List<AdminLeadView> findAdminViewsUpdatedAfter(@Param("since") LocalDateTime since);
+
+        boolean existsByIdAndAssignedTo(Long id, Users user);
+
+
+        /**
+         * Current state of the subset of {@code ids} assigned to {@code user}. The rows
+         * stay locked until the transaction ends so the state cannot go stale.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("""
+                select new com.example.CRM.event.LeadState(l.id, l.status, l.name, l.email, l.phone, l.company)
+                from Lead l where l.id in :ids and l.assignedTo = :user
+                """)
+        List<LeadState> lockStatesOwnedBy(@Param("ids") Collection<Long> ids, @Param("user") Users user);
+
+        /** Current state of the user's lead, row-locked until the transaction ends. Empty if not theirs. */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("""
+                select new com.example.CRM.event.LeadState(l.id, l.status, l.name, l.email, l.phone, l.company)
+                from Lead l where l.id = :id and l.assignedTo = :user
+                """)
+        Optional<LeadState> lockStateForOwner(@Param("id") Long id, @Param("user") Users user);
+
+        /** Rows of [assignee id, status, count]; used to reconcile the in-memory pipeline counters. */
+        @Query("select l.assignedTo.id, l.status, count(l) from Lead l group by l.assignedTo.id, l.status")
+        List<Object[]> countByAssigneeAndStatus();
+
+        @Transactional
+        @Modifying
+        @Query("update Lead l set l.status = :status, l.updatedAt = :now where l.id in :ids")
+        int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Lead.LeadStatus status,
+                @Param("now") LocalDateTime now);
+
+        @Transactional
+        @Modifying
+        @Query("delete from Lead l where l.id in :ids")
+        int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Dashboard aggregate: rows of [status, year, month, count] over createdAt
+         * for the given employees.
+         */
+        @Query("""
+                select l.status, extract(year from l.createdAt), extract(month from l.createdAt), count(l)
+                from Lead l where l.assignedTo.id in :assigneeIds
+                group by l.status, extract(year from l.createdAt), extract(month from l.createdAt)
+                """)
+        List<Object[]> countByStatusAndMonth(@Param("assigneeIds") Collection<Long> assigneeIds);
+
+        /** Same as {@link #countByStatusAndMonth(Collection)} across all employees. */
+        @Query("""
+                select l.status, extract(year from l.createdAt), extract(month from l.createdAt), count(l)
+                from Lead l
+                group by l.status, extract(year from l.createdAt), extract(month from l.createdAt)
+                """)
+        List<Object[]> countByStatusAndMonthOverall();
+
+        /** Rows of [company, count] over leads with a company; seeds the company typeahead. */
+        @Query("select l.company, count(l) from Lead l where l.company is not null group by l.company")
+        List<Object[]> countByCompany();
+
+        /** The subset of {@code emails} already used by a lead (one query per import batch). */
+        @Query("select l.email from Lead l where l.email in :emails")
+        List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+        /**
+         * Partial update in a single statement: null arguments keep the current value.
+         * Returns 0 when the lead does not exist or is assigned to someone else.
+         */
+        @Transactional
+        @Modifying
+        @Query("""
+                update Lead l set
+                    l.name = coalesce(:name, l.name),
+                    l.email = coalesce(:email, l.email),
+                    l.phone = coalesce(:phone, l.phone),
+                    l.company = coalesce(:company, l.company),
+                    l.status = coalesce(:status, l.status),
+                    l.updatedAt = :now
+                where l.id = :id and l.assignedTo = :user
+                """)
+        int patchForOwner(@Param("id") Long id, @Param("user") Users user,
+                @Param("name") String name, @Param("email") String email,
+                @Param("phone") String phone, @Param("company") String company,
+                @Param("status") Lead.LeadStatus status, @Param("now") LocalDateTime now);
+
+        /**
+         * Server-side cursor over every lead for exports. Must be consumed inside a
+         * (read-only) transaction and closed by the caller. On MySQL this relies on
+         * {@code useCursorFetch=true}, which {@code JpaConfig} sets.
+         */
+        @QueryHints({
+                @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query("select l from Lead l left join fetch l.assignedTo order by l.id")
+        Stream<Lead> streamAllForExport();
+
+        /**
+         * Rows of [id, assignee id, name, email, phone, company] for every lead, used to
+         * (re)build in-memory indexes. Same transaction/closing rules as the export stream.
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+        @Query("select l.id, l.assignedTo.id, l.name, l.email, l.phone, l.company from Lead l")
+        Stream<Object[]> streamContactRows();
+
 }
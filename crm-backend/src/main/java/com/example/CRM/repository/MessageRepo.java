@@ -0,0 +1,60 @@
+package com.example.CRM.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.CRM.dto.MessageView;
+import com.example.CRM.model.Message;
+
+/**
+ * Messages are read one direction of a conversation at a time (sender to receiver),
+ * newest first, so every history query is a bounded range scan of
+ * {@code idx_messages_conversation}.
+ */
+@Repository
+public interface MessageRepo extends JpaRepository<Message, Long> {
+
+    /** Newest messages from {@code senderId} to {@code receiverId}. */
+    @Query("""
+            select new com.example.CRM.dto.MessageView(m.id, m.sender.id, m.receiver.id, m.content, m.timestamp, m.readAt)
+            from Message m where m.sender.id = :senderId and m.receiver.id = :receiverId
+            order by m.timestamp desc, m.id desc
+            """)
+    List<MessageView> findLatest(@Param("senderId") Long senderId, @Param("receiverId") Long receiverId,
+            Limit limit);
+
+    /** Same direction, strictly older than (timestamp, id). */
+    @Query("""
+            select new com.example.CRM.dto.MessageView(m.id, m.sender.id, m.receiver.id, m.content, m.timestamp, m.readAt)
+            from Message m where m.sender.id = :senderId and m.receiver.id = :receiverId
+              and (m.timestamp < :timestamp or (m.timestamp = :timestamp and m.id < :id))
+            order by m.timestamp desc, m.id desc
+            """)
+    List<MessageView> findBefore(@Param("senderId") Long senderId, @Param("receiverId") Long receiverId,
+            @Param("timestamp") LocalDateTime timestamp, @Param("id") Long id, Limit limit);
+
+    /** Marks everything {@code senderId} sent to {@code receiverId} as read; returns how many were unread. */
+    @Modifying
+    @Transactional
+    @Query("""
+            update Message m set m.readAt = :now
+            where m.sender.id = :senderId and m.receiver.id = :receiverId and m.readAt is null
+            """)
+    int markRead(@Param("senderId") Long senderId, @Param("receiverId") Long receiverId,
+            @Param("now") LocalDateTime now);
+
+    /** Rows of [receiver id, sender id, unread count]; used to reconcile the unread counters. */
+    @Query("""
+            select m.receiver.id, m.sender.id, count(m) from Message m
+            where m.readAt is null group by m.receiver.id, m.sender.id
+            """)
+    List<Object[]> countUnreadByReceiverAndSender();
+}
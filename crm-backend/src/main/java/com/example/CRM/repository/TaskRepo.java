@@ -1,17 +1,148 @@
 package com.example.CRM.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.CRM.dto.TaskView;
 import com.example.CRM.model.Task;
 import com.example.CRM.model.Users;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
-public interface TaskRepo extends JpaRepository<Task, Long> {
+public interface TaskRepo extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     // Define any custom query methods if needed
     // For example, you can add methods to find tasks by status, assigned user, etc.
 
-      List<Task> findByAssignedTo(Users user);
+    @EntityGraph("Task.withLead")
+    List<Task> findByAssignedTo(Users user);
+
+    /**
+     * The user's tasks as {@link TaskView} rows, with the related lead's name and
+     * company joined in the same query.
+     */
+    @Query("""
+            select new com.example.CRM.dto.TaskView(t.id, t.title, t.description, t.status, t.dueDate,
+                t.createdAt, a.name, rl.name, rl.company)
+            from Task t left join t.assignedTo a left join t.relatedLead rl where t.assignedTo = :user
+            """)
+    List<TaskView> findViewsByAssignedTo(@Param("user") Users user);
+
+    /** Same as {@link #findViewsByAssignedTo(Users)}, limited to tasks updated after {@code since}. */
+    @Query("""
+            select new com.example.CRM.dto.TaskView(t.id, t.title, t.description, t.status, t.dueDate,
+                t.createdAt, a.name, rl.name, rl.company)
+            from Task t left join t.assignedTo a left join t.relatedLead rl
+            where t.assignedTo = :user and t.updatedAt > :since
+            """)
+    List<TaskView> findViewsByAssignedToUpdatedAfter(@Param("user") Users user, @Param("since") LocalDateTime since);
+
+    /** Status of the user's task, row-locked until the transaction ends. Empty if not theirs. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.status from Task t where t.id = :id and t.assignedTo = :user")
+    Optional<Task.TaskStatus> lockStatusForOwner(@Param("id") Long id, @Param("user") Users user);
+
+    /** Rows of [assignee id, status, count]; used to reconcile the in-memory pipeline counters. */
+    @Query("select t.assignedTo.id, t.status, count(t) from Task t group by t.assignedTo.id, t.status")
+    List<Object[]> countByAssigneeAndStatus();
+
+    /**
+     * Dashboard aggregate: rows of [status, due year, due month, count, calls] where
+     * calls counts tasks whose description mentions "call".
+     */
+    @Query("""
+            select t.status, extract(year from t.dueDate), extract(month from t.dueDate), count(t),
+                   sum(case when lower(t.description) like '%call%' then 1 else 0 end)
+            from Task t where t.assignedTo.id in :assigneeIds
+            group by t.status, extract(year from t.dueDate), extract(month from t.dueDate)
+            """)
+    List<Object[]> countByStatusAndDueMonth(@Param("assigneeIds") Collection<Long> assigneeIds);
+
+    /** Same as {@link #countByStatusAndDueMonth(Collection)} across all employees. */
+    @Query("""
+            select t.status, extract(year from t.dueDate), extract(month from t.dueDate), count(t),
+                   sum(case when lower(t.description) like '%call%' then 1 else 0 end)
+            from Task t
+            group by t.status, extract(year from t.dueDate), extract(month from t.dueDate)
+            """)
+    List<Object[]> countByStatusAndDueMonthOverall();
+
+    /** [count, calls] of unfinished tasks due in [from, to) for the given employees. */
+    @Query("""
+            select count(t), sum(case when lower(t.description) like '%call%' then 1 else 0 end)
+            from Task t where t.assignedTo.id in :assigneeIds
+              and t.dueDate >= :from and t.dueDate < :to and t.status <> COMPLETED
+            """)
+    List<Object[]> countOpenDueBetween(@Param("assigneeIds") Collection<Long> assigneeIds,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** Same as {@link #countOpenDueBetween(Collection, LocalDateTime, LocalDateTime)} across all employees. */
+    @Query("""
+            select count(t), sum(case when lower(t.description) like '%call%' then 1 else 0 end)
+            from Task t
+            where t.dueDate >= :from and t.dueDate < :to and t.status <> COMPLETED
+            """)
+    List<Object[]> countOpenDueBetweenOverall(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** Rows of [id, assignee id, dueDate] for tasks due in [from, to); loads the reminder window. */
+    @Query("select t.id, t.assignedTo.id, t.dueDate from Task t where t.dueDate >= :from and t.dueDate < :to")
+    List<Object[]> findDueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** Rows of [id, assignee id, title, dueDate] for the given tasks; checked before reminders go out. */
+    @Query("select t.id, t.assignedTo.id, t.title, t.dueDate from Task t where t.id in :ids")
+    List<Object[]> findReminderRows(@Param("ids") Collection<Long> ids);
+
+    /** Rows of [id, related lead id, status] for every task linked to a lead; seeds the lead scores. */
+    @Query("select t.id, t.relatedLead.id, t.status from Task t where t.relatedLead is not null")
+    List<Object[]> findScoringRows();
+
+    /** Unlinks tasks from leads that are about to be removed. */
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.relatedLead = null, t.updatedAt = :now where t.relatedLead.id in :leadIds")
+    int detachFromLeads(@Param("leadIds") Collection<Long> leadIds, @Param("now") LocalDateTime now);
+
+    /** Marks the lead's tasks as updated: task rows show the lead's name and company. */
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.updatedAt = :now where t.relatedLead.id = :leadId")
+    int touchForLead(@Param("leadId") Long leadId, @Param("now") LocalDateTime now);
+
+    /** Deletes the task only if it belongs to {@code user}; returns the number of rows removed. */
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.assignedTo = :user")
+    int deleteForOwner(@Param("id") Long id, @Param("user") Users user);
+
+    /**
+     * Partial update in a single statement: null arguments keep the current value.
+     * Returns 0 when the task does not exist or is assigned to someone else.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Task t set
+                t.title = coalesce(:title, t.title),
+                t.description = coalesce(:description, t.description),
+                t.status = coalesce(:status, t.status),
+                t.dueDate = coalesce(:dueDate, t.dueDate),
+                t.updatedAt = :now
+            where t.id = :id and t.assignedTo = :user
+            """)
+    int patchForOwner(@Param("id") Long id, @Param("user") Users user,
+            @Param("title") String title, @Param("description") String description,
+            @Param("status") Task.TaskStatus status, @Param("dueDate") LocalDateTime dueDate,
+            @Param("now") LocalDateTime now);
 }
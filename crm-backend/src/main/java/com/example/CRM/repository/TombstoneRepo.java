@@ -0,0 +1,34 @@
+package com.example.CRM.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.CRM.model.Tombstone;
+
+@Repository
+public interface TombstoneRepo extends JpaRepository<Tombstone, Long> {
+
+    /** Ids of this employee's rows of {@code type} removed after {@code since}. */
+    @Query("""
+            select t.entityId from Tombstone t
+            where t.entityType = :type and t.ownerId = :ownerId and t.deletedAt > :since
+            """)
+    List<Long> findDeletedSince(@Param("type") Tombstone.EntityType type, @Param("ownerId") Long ownerId,
+            @Param("since") LocalDateTime since);
+
+    /** Same as {@link #findDeletedSince(Tombstone.EntityType, Long, LocalDateTime)} across all employees. */
+    @Query("select t.entityId from Tombstone t where t.entityType = :type and t.deletedAt > :since")
+    List<Long> findAllDeletedSince(@Param("type") Tombstone.EntityType type, @Param("since") LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Tombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
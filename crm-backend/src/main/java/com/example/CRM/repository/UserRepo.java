@@ -1,8 +1,10 @@
 package com.example.CRM.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.CRM.model.Users;
 
@@ -10,5 +12,12 @@ public interface UserRepo extends JpaRepository<Users, Long> {
     // Additional query methods can be defined here if needed
         Optional<Users> findByUsername(String username);  // instead of findByEmail
 
+        /** Rows of [id, name, role, position, department, manager id] for every employee; builds the org tree. */
+        @Query("""
+                select u.id, u.name, u.role, u.position, u.department, m.id
+                from Users u left join u.manager m
+                """)
+        List<Object[]> findDirectoryRows();
+
 
 }
@@ -0,0 +1,58 @@
+package com.example.CRM.repository;
+
+import com.example.CRM.dto.AdminClientView;
+import com.example.CRM.dto.AdminLeadView;
+import com.example.CRM.dto.ClientView;
+import com.example.CRM.dto.LeadView;
+import com.example.CRM.dto.TaskView;
+import com.example.CRM.model.Client;
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Task;
+import com.example.CRM.model.Users;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Criteria versions of the {@code select new ...} projections in the repositories,
+ * for the keyset pages built by {@link Keyset}. Keep the two in step.
+ */
+public final class Views {
+
+    private Views() {
+    }
+
+    public static Selection<LeadView> lead(Root<Lead> l, CriteriaBuilder cb) {
+        Join<Lead, Users> a = l.join("assignedTo", JoinType.LEFT);
+        return cb.construct(LeadView.class, l.get("id"), l.get("name"), l.get("email"), l.get("phone"),
+                l.get("company"), l.get("status"), l.get("createdAt"), l.get("updatedAt"), a.get("name"));
+    }
+
+    public static Selection<AdminLeadView> adminLead(Root<Lead> l, CriteriaBuilder cb) {
+        Join<Lead, Users> a = l.join("assignedTo", JoinType.LEFT);
+        return cb.construct(AdminLeadView.class, l.get("id"), l.get("name"), l.get("email"), l.get("phone"),
+                l.get("createdAt"), a.get("name"));
+    }
+
+    public static Selection<ClientView> client(Root<Client> c, CriteriaBuilder cb) {
+        Join<Client, Users> a = c.join("assignedTo", JoinType.LEFT);
+        return cb.construct(ClientView.class, c.get("id"), c.get("name"), c.get("email"), c.get("phone"),
+                c.get("company"), c.get("createdAt"), a.get("name"));
+    }
+
+    public static Selection<AdminClientView> adminClient(Root<Client> c, CriteriaBuilder cb) {
+        Join<Client, Users> a = c.join("assignedTo", JoinType.LEFT);
+        return cb.construct(AdminClientView.class, c.get("id"), c.get("name"), c.get("email"), c.get("phone"),
+                c.get("createdAt"), a.get("name"));
+    }
+
+    public static Selection<TaskView> task(Root<Task> t, CriteriaBuilder cb) {
+        Join<Task, Users> a = t.join("assignedTo", JoinType.LEFT);
+        Join<Task, Lead> rl = t.join("relatedLead", JoinType.LEFT);
+        return cb.construct(TaskView.class, t.get("id"), t.get("title"), t.get("description"), t.get("status"),
+                t.get("dueDate"), t.get("createdAt"), a.get("name"), rl.get("name"), rl.get("company"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.CRM.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.CRM.model.Users;
+
+/**
+ * Authenticated principal kept in the security context for the whole session.
+ * Carries what the API needs on every request (employee id, role, display name)
+ * so that identifying the caller never requires a users-table lookup.
+ */
+public class CrmUserDetails implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String name;
+    private final String role;
+    private String password;
+
+    public CrmUserDetails(Long id, String username, String password, String name, String role) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.name = name;
+        this.role = role.toUpperCase(Locale.ROOT);
+    }
+
+    public static CrmUserDetails of(Users user) {
+        return new CrmUserDetails(user.getId(), user.getUsername(), user.getPassword(),
+                user.getName(), user.getRole());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Role without the "ROLE_" prefix, e.g. "ADMIN". */
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public String toString() {
+        return "CrmUserDetails [id=" + id + ", username=" + username + ", role=" + role + "]";
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.CRM.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import com.example.CRM.model.Client;
-import com.example.CRM.model.Lead;
+import com.example.CRM.dto.AdminClientView;
+import com.example.CRM.dto.AdminLeadView;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.DeltaPage;
+import com.example.CRM.dto.ListQuery;
+import com.example.CRM.event.EmployeeChangedEvent;
 import com.example.CRM.model.Users;
 import com.example.CRM.repository.AdminRepo;
 import com.example.CRM.repository.ClientRepo;
@@ -24,15 +30,41 @@ public class AdminService  {
     @Autowired
     private ClientRepo clientRepo;
 
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
     public void saveUser(Users u) {
         adminRepo.save(u);
+        events.publishEvent(new EmployeeChangedEvent(u.getId()));
+    }
+
+    public List<AdminLeadView> getAllLeads() {
+        return leadRepo.findAllAdminViews();
+    }
+
+    public List<AdminClientView> getAllClients() {
+        return clientRepo.findAllAdminViews();
+    }
+
+    public DeltaPage<AdminLeadView> getLeadChanges(LocalDateTime since) {
+        return leadService.getAdminLeadChanges(since);
+    }
+
+    public DeltaPage<AdminClientView> getClientChanges(LocalDateTime since) {
+        return clientService.getAdminClientChanges(since);
     }
 
-    public List<Lead> getAllLeads() {
-        return leadRepo.findAll();
+    public CursorPage<AdminLeadView> getLeadPage(ListQuery query) {
+        return leadService.getAdminLeadPage(query);
     }
 
-    public List<Client> getAllClients() {
-        return clientRepo.findAll();
+    public CursorPage<AdminClientView> getClientPage(ListQuery query) {
+        return clientService.getAdminClientPage(query);
     }
 }
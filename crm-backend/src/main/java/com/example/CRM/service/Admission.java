@@ -0,0 +1,54 @@
+package com.example.CRM.service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps how much work uses the database at once, sized to the connection pool
+ * ({@code crm.admission.permits}, by default the Hikari maximum pool size).
+ * <p>
+ * With virtual threads nothing else bounds concurrency: excess requests would
+ * all queue inside the pool and time out together after its 30 s connection
+ * timeout. Requests take a permit in {@code AdmissionFilter}, waiting at most
+ * {@code crm.admission.wait}; {@link FanOut} subtasks only take spare ones.
+ */
+@Component
+public class Admission {
+
+    private final Semaphore permits;
+    private final int capacity;
+    private final long waitNanos;
+
+    public Admission(@Value("${crm.admission.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${crm.admission.wait:PT1S}") Duration wait) {
+        this.permits = new Semaphore(permits, true);
+        this.capacity = permits;
+        this.waitNanos = wait.toNanos();
+    }
+
+    /** Waits up to {@code crm.admission.wait} for a permit; false if none came free. */
+    public boolean enter() throws InterruptedException {
+        return permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Takes a permit only if one is free right now. */
+    public boolean tryEnter() {
+        return permits.tryAcquire();
+    }
+
+    public void leave() {
+        permits.release();
+    }
+
+    public int inUse() {
+        return capacity - permits.availablePermits();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.CRM.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.example.CRM.dto.ArchivedLeadView;
+import com.example.CRM.dto.ArchivedTaskView;
+import com.example.CRM.dto.Cursor;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.KeysetRow;
+import com.example.CRM.dto.ListQuery;
+import com.example.CRM.model.Users;
+import com.example.CRM.repository.ArchivedLeadRepo;
+import com.example.CRM.repository.ArchivedTaskRepo;
+
+/**
+ * Cold storage for converted leads and completed tasks. The row is copied into
+ * {@code archived_leads} / {@code archived_tasks} by one INSERT ... SELECT in the
+ * same transaction that deletes it from the hot table, so history is never lost
+ * and the hot tables only hold live records.
+ */
+@Service
+public class ArchiveService {
+
+    // Upper bound for the first page, which has no cursor yet
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final int FIRST_MONTH = 0;
+    private static final int LAST_MONTH = 999912;
+
+    @Autowired
+    private ArchivedLeadRepo archivedLeadRepo;
+
+    @Autowired
+    private ArchivedTaskRepo archivedTaskRepo;
+
+    /** Archives the given leads; call before deleting them. */
+    public int archiveLeads(Collection<Long> leadIds, LocalDateTime now) {
+        return archivedLeadRepo.insertFromLeads(leadIds, now, month(now));
+    }
+
+    /** Archives the task if it belongs to {@code owner}; call before deleting it. */
+    public int archiveTask(Long taskId, Users owner, LocalDateTime now) {
+        return archivedTaskRepo.insertForOwner(taskId, owner, now, month(now));
+    }
+
+    /**
+     * Converted leads, newest conversion first.
+     *
+     * @param assigneeId only this employee's; null for everyone's
+     * @param month      only those converted in this month; null for all
+     */
+    public CursorPage<ArchivedLeadView> getLeadPage(Long assigneeId, YearMonth month, String cursor, Integer limit) {
+        Page p = new Page(month, cursor, limit);
+        List<ArchivedLeadView> rows = assigneeId != null
+                ? archivedLeadRepo.findPageForAssignee(assigneeId, p.minMonth, p.maxMonth, p.at, p.id, p.fetch())
+                : archivedLeadRepo.findPage(p.minMonth, p.maxMonth, p.at, p.id, p.fetch());
+        return p.of(rows);
+    }
+
+    /**
+     * Completed tasks, most recently completed first. Same parameters as
+     * {@link #getLeadPage(Long, YearMonth, String, Integer)}.
+     */
+    public CursorPage<ArchivedTaskView> getTaskPage(Long assigneeId, YearMonth month, String cursor, Integer limit) {
+        Page p = new Page(month, cursor, limit);
+        List<ArchivedTaskView> rows = assigneeId != null
+                ? archivedTaskRepo.findPageForAssignee(assigneeId, p.minMonth, p.maxMonth, p.at, p.id, p.fetch())
+                : archivedTaskRepo.findPage(p.minMonth, p.maxMonth, p.at, p.id, p.fetch());
+        return p.of(rows);
+    }
+
+    /** The yyyymm bucket of a timestamp. */
+    static int month(LocalDateTime at) {
+        return at.getYear() * 100 + at.getMonthValue();
+    }
+
+    private static int month(YearMonth m) {
+        return m.getYear() * 100 + m.getMonthValue();
+    }
+
+    /** Bounds of one archive page: the month range to scan and the position to seek below. */
+    private static final class Page {
+        final int size;
+        final int minMonth;
+        final int maxMonth;
+        final LocalDateTime at;
+        final Long id;
+
+        Page(YearMonth month, String cursor, Integer limit) {
+            size = limit == null || limit <= 0 ? ListQuery.DEFAULT_LIMIT : Math.min(limit, ListQuery.MAX_LIMIT);
+            Cursor before = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+            // Archived rows always have createdAt, and the month bucket is derived from it
+            if (before != null && before.createdAt() == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            at = before != null ? before.createdAt() : END_OF_TIME;
+            id = before != null ? before.id() : Long.MAX_VALUE;
+            // No bucket after the cursor's can hold an older row
+            minMonth = month != null ? month(month) : FIRST_MONTH;
+            maxMonth = month != null ? month(month) : before != null ? month(before.createdAt()) : LAST_MONTH;
+        }
+
+        Limit fetch() {
+            return Limit.of(size + 1);
+        }
+
+        <T extends KeysetRow> CursorPage<T> of(List<T> rows) {
+            boolean hasMore = rows.size() > size;
+            List<T> items = hasMore ? rows.subList(0, size) : rows;
+            String next = hasMore ? Cursor.of(items.get(items.size() - 1)).encode() : null;
+            return new CursorPage<>(items, next, hasMore);
+        }
+    }
+}
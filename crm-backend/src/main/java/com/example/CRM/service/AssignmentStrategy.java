@@ -0,0 +1,21 @@
+package com.example.CRM.service;
+
+import java.util.function.ToLongFunction;
+
+import com.example.CRM.dto.TeamMember;
+
+/**
+ * Picks the employee a new lead goes to. Implementations are Spring beans,
+ * selected by {@link #name()} through {@link LeadAssigner}. They only look at
+ * the in-memory pool and load counters, never the database.
+ */
+public interface AssignmentStrategy {
+
+    String name();
+
+    /**
+     * @param pool      the employees leads may go to, never empty
+     * @param openLeads open leads currently assigned to an employee id
+     */
+    TeamMember choose(LeadAssigner.Pool pool, ToLongFunction<Long> openLeads);
+}
@@ -0,0 +1,249 @@
+package com.example.CRM.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.dto.AuditEntry;
+import com.example.CRM.dto.AuditStats;
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.event.TaskChangedEvent;
+import com.example.CRM.model.AuditEvent;
+import com.example.CRM.repository.AuditRepo;
+import com.example.CRM.security.CrmUserDetails;
+
+/**
+ * Status history of leads and tasks, written off the request path. Committed
+ * status changes are appended to a bounded in-memory buffer; one background
+ * thread drains it into {@code audit_events} as JDBC batches, whenever
+ * {@code crm.audit.batch-size} records are waiting or the oldest has waited
+ * {@code crm.audit.flush-interval}.
+ * <p>
+ * When the buffer is full the writing thread waits up to
+ * {@code crm.audit.offer-timeout} for room, which slows writers down to the speed
+ * of the database; past that the record is dropped and counted. On shutdown the
+ * buffer is drained before the application context closes.
+ */
+@Component
+public class AuditTrail implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditTrail.class);
+
+    private static final String INSERT = "insert into audit_events "
+            + "(entity_type, entity_id, owner_id, actor_id, action, from_status, to_status, occurred_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private record Entry(AuditEvent.EntityType type, Long entityId, Long ownerId, Long actorId,
+            ChangeType action, String from, String to, LocalDateTime at) {
+    }
+
+    private final BlockingQueue<Entry> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuditRepo auditRepo;
+
+    public AuditTrail(@Value("${crm.audit.capacity:10000}") int capacity,
+            @Value("${crm.audit.batch-size:200}") int batchSize,
+            @Value("${crm.audit.flush-interval:1s}") Duration flushInterval,
+            @Value("${crm.audit.offer-timeout:50ms}") Duration offerTimeout) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadChanged(LeadChangedEvent e) {
+        if (e.before() != e.after()) {
+            append(AuditEvent.EntityType.LEAD, e.leadId(), e.assigneeId(), e.type(), name(e.before()), name(e.after()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent e) {
+        if (e.before() != e.after()) {
+            append(AuditEvent.EntityType.TASK, e.taskId(), e.assigneeId(), e.type(), name(e.before()), name(e.after()));
+        }
+    }
+
+    /**
+     * Recorded history of one lead or task, newest first. Records still in the
+     * buffer are not included yet.
+     *
+     * @param ownerId only changes made while it was assigned to this employee; null for all
+     */
+    public List<AuditEntry> history(AuditEvent.EntityType type, Long id, Long ownerId, int limit) {
+        return auditRepo.findHistory(type, id, ownerId, Limit.of(limit));
+    }
+
+    public AuditStats stats() {
+        long n = flushes.sum();
+        return new AuditStats(buffer.size(), buffer.size() + buffer.remainingCapacity(), written.sum(),
+                dropped.sum(), failed.sum(), n, millis(lastFlushNanos.get()),
+                n == 0 ? 0 : millis(flushNanos.sum() / n), millis(maxFlushNanos.get()));
+    }
+
+    private void append(AuditEvent.EntityType type, Long id, Long ownerId, ChangeType action, String from, String to) {
+        CrmUserDetails actor = userService.getCurrentPrincipal();
+        Entry entry = new Entry(type, id, ownerId, actor != null ? actor.getId() : null, action, from, to,
+                LocalDateTime.now());
+        try {
+            if (!buffer.offer(entry, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                dropped.increment();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Lets the writer empty the buffer, waiting a bounded time for it. */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Below the web server's phases: started before requests arrive, stopped after they end. */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        while (true) {
+            try {
+                if (batch.isEmpty()) {
+                    Entry first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (!running) {
+                            return;
+                        }
+                        continue;
+                    }
+                    batch.add(first);
+                    deadline = System.nanoTime() + flushIntervalNanos;
+                }
+                buffer.drainTo(batch, batchSize - batch.size());
+                long wait = deadline - System.nanoTime();
+                if (batch.size() < batchSize && wait > 0 && running) {
+                    Entry next = buffer.poll(Math.min(wait, TimeUnit.MILLISECONDS.toNanos(100)), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                    continue;
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                flush(batch);
+                return;
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, e) -> {
+                ps.setString(1, e.type().name());
+                ps.setLong(2, e.entityId());
+                setLong(ps, 3, e.ownerId());
+                setLong(ps, 4, e.actorId());
+                ps.setString(5, e.action().name());
+                ps.setString(6, e.from());
+                ps.setString(7, e.to());
+                ps.setTimestamp(8, Timestamp.valueOf(e.at()));
+            });
+            written.add(batch.size());
+        } catch (DataAccessException e) {
+            failed.add(batch.size());
+            log.warn("Dropped {} audit records after a failed batch insert", batch.size(), e);
+        }
+        long elapsed = System.nanoTime() - started;
+        flushes.increment();
+        flushNanos.add(elapsed);
+        lastFlushNanos.set(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static String name(Enum<?> status) {
+        return status != null ? status.name() : null;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
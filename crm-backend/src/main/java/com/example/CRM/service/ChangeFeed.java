@@ -0,0 +1,217 @@
+package com.example.CRM.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.CRM.dto.ChangeNotification;
+import com.example.CRM.event.ClientChangedEvent;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.event.TaskChangedEvent;
+import com.example.CRM.event.TaskReminderEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-Sent Events fan-out of committed lead, task and client changes. Each
+ * employee receives changes to records assigned to them; admins receive all.
+ * Task reminders go out as "reminder" events, to the assignee only.
+ * <p>
+ * An idle subscriber is just an open async response, holding no thread. Events
+ * are queued per subscriber (at most {@code crm.feed.buffer-size}) and written by
+ * a virtual thread, so a slow browser never blocks the request that made the
+ * change. A subscriber that falls a whole buffer behind gets a single "resync"
+ * event instead and should reload its lists. A comment line is sent every
+ * {@code crm.feed.heartbeat-interval} to keep proxies from closing the stream.
+ */
+@Component
+public class ChangeFeed {
+
+    private record Pending(long id, String name, Object data) {
+    }
+
+    private final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Pending> buffer = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean overflowed;
+        volatile boolean heartbeatDue;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> admins = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public ChangeFeed(@Value("${crm.feed.buffer-size:256}") int bufferSize,
+            @Value("${crm.feed.timeout:30m}") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Opens a stream for {@code userId}; {@code admin} subscribers see every change.
+     * The stream ends after {@code crm.feed.timeout}; browsers reconnect on their own.
+     */
+    public SseEmitter subscribe(Long userId, boolean admin) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber s = new Subscriber(admin ? null : userId, emitter);
+        emitter.onCompletion(() -> remove(s));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(s));
+        if (admin) {
+            admins.add(s);
+        } else {
+            byUser.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(s);
+        }
+        heartbeat(s); // first write, so the response is committed right away
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return admins.size() + byUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadChanged(LeadChangedEvent e) {
+        publish(new ChangeNotification("lead", e.type(), e.leadId(), e.assigneeId(),
+                e.after() != null ? e.after().name() : null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent e) {
+        publish(new ChangeNotification("task", e.type(), e.taskId(), e.assigneeId(),
+                e.after() != null ? e.after().name() : null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent e) {
+        publish(new ChangeNotification("client", e.type(), e.clientId(), e.assigneeId(), null));
+    }
+
+    @EventListener
+    public void onTaskReminder(TaskReminderEvent e) {
+        Set<Subscriber> own = e.assigneeId() != null ? byUser.get(e.assigneeId()) : null;
+        if (own != null) {
+            Pending event = new Pending(sequence.incrementAndGet(), "reminder", e);
+            own.forEach(s -> offer(s, event));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${crm.feed.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        admins.forEach(this::heartbeat);
+        byUser.values().forEach(set -> set.forEach(this::heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        admins.forEach(s -> s.emitter.complete());
+        byUser.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        senders.shutdown();
+    }
+
+    private void publish(ChangeNotification n) {
+        if (admins.isEmpty() && (n.assigneeId() == null || !byUser.containsKey(n.assigneeId()))) {
+            return;
+        }
+        Pending event = new Pending(sequence.incrementAndGet(), "change", n);
+        admins.forEach(s -> offer(s, event));
+        if (n.assigneeId() != null) {
+            Set<Subscriber> own = byUser.get(n.assigneeId());
+            if (own != null) {
+                own.forEach(s -> offer(s, event));
+            }
+        }
+    }
+
+    private void offer(Subscriber s, Pending event) {
+        if (!s.buffer.offer(event)) {
+            // Too far behind to catch up event by event
+            s.buffer.clear();
+            s.overflowed = true;
+        }
+        schedule(s);
+    }
+
+    private void heartbeat(Subscriber s) {
+        s.heartbeatDue = true;
+        schedule(s);
+    }
+
+    /** At most one sender per subscriber at a time, so events stay in order. */
+    private void schedule(Subscriber s) {
+        if (s.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(s));
+        }
+    }
+
+    private void drain(Subscriber s) {
+        try {
+            while (true) {
+                if (s.overflowed) {
+                    s.overflowed = false;
+                    s.emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+                }
+                Pending next = s.buffer.poll();
+                if (next != null) {
+                    s.emitter.send(SseEmitter.event()
+                            .id(Long.toString(next.id()))
+                            .name(next.name())
+                            .data(next.data(), MediaType.APPLICATION_JSON));
+                    continue;
+                }
+                if (s.heartbeatDue) {
+                    s.heartbeatDue = false;
+                    s.emitter.send(SseEmitter.event().comment("ping"));
+                }
+                break;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Browser went away or the stream already ended
+            remove(s);
+            s.emitter.completeWithError(e);
+            return;
+        } finally {
+            s.draining.set(false);
+        }
+        if (!s.buffer.isEmpty() || s.overflowed || s.heartbeatDue) {
+            schedule(s);
+        }
+    }
+
+    private void remove(Subscriber s) {
+        if (s.userId == null) {
+            admins.remove(s);
+            return;
+        }
+        byUser.computeIfPresent(s.userId, (id, set) -> {
+            set.remove(s);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
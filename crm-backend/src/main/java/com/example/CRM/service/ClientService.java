@@ -1,14 +1,30 @@
 package com.example.CRM.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.example.CRM.dto.AdminClientView;
+import com.example.CRM.dto.ClientView;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.DeltaPage;
+import com.example.CRM.dto.ListQuery;
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.ClientChangedEvent;
+import com.example.CRM.event.ContactDetails;
 import com.example.CRM.model.Client;
+import com.example.CRM.model.Tombstone;
 import com.example.CRM.model.Users;
 import com.example.CRM.repository.ClientRepo;
+import com.example.CRM.repository.Keyset;
+import com.example.CRM.repository.Views;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class ClientService {
@@ -16,16 +32,88 @@ public class ClientService {
     @Autowired 
     private ClientRepo clientRepo;
 
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private DeltaSync deltaSync;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public void saveClient(Client client)
     {
         // Set the createdAt timestamp to the current time
         LocalDateTime now = LocalDateTime.now();
         client.setCreatedAt(now);
+        client.setUpdatedAt(now);
         // Save the client to the repository
         clientRepo.save(client);
+        events.publishEvent(new ClientChangedEvent(ChangeType.CREATED, client.getId(),
+                client.getAssignedTo() != null ? client.getAssignedTo().getId() : null,
+                null, ContactDetails.of(client)));
+    }
+
+    /**
+     * Creates one client per lead id in a single INSERT ... SELECT, then reads the
+     * new rows back in one query to announce them. Must run before the leads are deleted.
+     */
+    public int createClientsFromLeads(Collection<Long> leadIds, LocalDateTime now) {
+        int created = clientRepo.insertFromLeads(leadIds, now);
+        for (Object[] row : clientRepo.findCreatedFromLeads(leadIds)) {
+            events.publishEvent(new ClientChangedEvent(ChangeType.CREATED, (Long) row[0], (Long) row[1], null,
+                    new ContactDetails((String) row[2], (String) row[3], (String) row[4], (String) row[5])));
+        }
+        return created;
+    }
+
+    public List<ClientView> getClientsByAssignedTo(Users dummy) {
+        return clientRepo.findViewsByAssignedTo(dummy);
+    }
+
+    /**
+     * The user's clients changed or removed after {@code since} (see {@link DeltaSync}).
+     */
+    public DeltaPage<ClientView> getClientChanges(Users u, LocalDateTime since) {
+        return deltaSync.delta(Tombstone.EntityType.CLIENT, u.getId(), since,
+                s -> clientRepo.findViewsByAssignedToUpdatedAfter(u, s), () -> clientRepo.findViewsByAssignedTo(u));
     }
 
-    public List<Client> getClientsByAssignedTo(Users dummy) {
-        // TODO Auto-generated method stub
-        return clientRepo.findByAssignedTo(dummy);}
+    /**
+     * Same as {@link #getClientChanges(Users, LocalDateTime)} across all employees, admin row shape.
+     */
+    public DeltaPage<AdminClientView> getAdminClientChanges(LocalDateTime since) {
+        return deltaSync.delta(Tombstone.EntityType.CLIENT, null, since,
+                clientRepo::findAdminViewsUpdatedAfter, clientRepo::findAllAdminViews);
+    }
+
+    /**
+     * One keyset page of clients. Clients have no status, so a status filter is rejected.
+     */
+    public CursorPage<ClientView> getClientPage(ListQuery query) {
+        rejectStatusFilter(query);
+        return Keyset.page(entityManager, Client.class, query, null, ClientView.class, Views::client);
+    }
+
+    /**
+     * Same as {@link #getClientPage(ListQuery)} across a set of employees, e.g. a manager's team.
+     */
+    public CursorPage<ClientView> getClientPage(ListQuery query, Collection<Long> assigneeIds) {
+        rejectStatusFilter(query);
+        return Keyset.page(entityManager, Client.class, query, assigneeIds, null, ClientView.class, Views::client);
+    }
+
+    /**
+     * Same as {@link #getClientPage(ListQuery)} with the admin row shape.
+     */
+    public CursorPage<AdminClientView> getAdminClientPage(ListQuery query) {
+        rejectStatusFilter(query);
+        return Keyset.page(entityManager, Client.class, query, null, AdminClientView.class, Views::adminClient);
+    }
+
+    private static void rejectStatusFilter(ListQuery query) {
+        if (query.status() != null && !query.status().isBlank()) {
+            throw new IllegalArgumentException("Clients cannot be filtered by status");
+        }
+    }
 }
@@ -0,0 +1,180 @@
+package com.example.CRM.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.dto.CompanySuggestion;
+import com.example.CRM.event.ClientChangedEvent;
+import com.example.CRM.event.ContactDetails;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.repository.ClientRepo;
+import com.example.CRM.repository.LeadRepo;
+
+/**
+ * Distinct company names across leads and clients with how often each is used,
+ * kept in a sorted map so a prefix is a range scan. Names are matched ignoring
+ * case and repeated spaces; the most common spelling is the one shown.
+ * <p>
+ * Rebuilt from two GROUP BY queries at startup and every
+ * {@code crm.companies.rebuild-interval}, and adjusted from the change events in
+ * between. At most {@code crm.companies.max-entries} names are kept; past that
+ * the least used are dropped until the next rebuild.
+ */
+@Component
+public class CompanyIndex {
+
+    /** Mutable under the write lock only. */
+    private static final class Entry {
+        String display;
+        int count;
+
+        Entry(String display) {
+            this.display = display;
+        }
+    }
+
+    private final TreeMap<String, Entry> entries = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${crm.companies.max-entries:20000}")
+    private int maxEntries;
+
+    @Autowired
+    private LeadRepo leadRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    @Scheduled(fixedDelayString = "${crm.companies.rebuild-interval:PT6H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            // Spellings arrive one group at a time; keep the most used one per name
+            Map<String, Integer> bestSpelling = new TreeMap<>();
+            List<Object[]> rows = new ArrayList<>(leadRepo.countByCompany());
+            rows.addAll(clientRepo.countByCompany());
+            for (Object[] row : rows) {
+                String display = tidy((String) row[0]);
+                int count = ((Number) row[1]).intValue();
+                if (display == null) {
+                    continue;
+                }
+                Entry e = entries.computeIfAbsent(key(display), k -> new Entry(display));
+                e.count += count;
+                int spellingCount = bestSpelling.merge(display, count, Integer::sum);
+                if (spellingCount > bestSpelling.getOrDefault(e.display, 0)) {
+                    e.display = display;
+                }
+            }
+            trimIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadChanged(LeadChangedEvent e) {
+        move(e.previousDetails(), e.details());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent e) {
+        move(e.previousDetails(), e.details());
+    }
+
+    /**
+     * The {@code limit} most used company names starting with {@code prefix}
+     * (case-insensitive), most used first.
+     */
+    public List<CompanySuggestion> suggest(String prefix, int limit) {
+        String from = prefix == null ? null : key(tidy(prefix));
+        if (from == null || limit <= 0) {
+            return List.of();
+        }
+        Comparator<CompanySuggestion> rank = Comparator.comparingInt(CompanySuggestion::count)
+                .thenComparing(CompanySuggestion::name, Comparator.reverseOrder());
+        PriorityQueue<CompanySuggestion> top = new PriorityQueue<>(rank);
+
+        lock.readLock().lock();
+        try {
+            for (Entry e : entries.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+                top.add(new CompanySuggestion(e.display, e.count));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<CompanySuggestion> result = new ArrayList<>(top);
+        result.sort(rank.reversed());
+        return result;
+    }
+
+    private void move(ContactDetails before, ContactDetails after) {
+        String oldName = before != null ? tidy(before.company()) : null;
+        String newName = after != null ? tidy(after.company()) : null;
+        if (oldName != null && newName != null && key(oldName).equals(key(newName))) {
+            return;
+        }
+        if (oldName == null && newName == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (oldName != null) {
+                String k = key(oldName);
+                Entry e = entries.get(k);
+                if (e != null && --e.count <= 0) {
+                    entries.remove(k);
+                }
+            }
+            if (newName != null) {
+                entries.computeIfAbsent(key(newName), k -> new Entry(newName)).count++;
+                trimIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Caller holds the write lock. Lets the map overshoot by 10% so trimming stays rare. */
+    private void trimIfNeeded() {
+        if (entries.size() <= maxEntries + maxEntries / 10) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> byCount = new ArrayList<>(entries.entrySet());
+        byCount.sort(Comparator.comparingInt(m -> m.getValue().count));
+        for (int i = 0; i < byCount.size() - maxEntries; i++) {
+            entries.remove(byCount.get(i).getKey());
+        }
+    }
+
+    /** Trimmed, single-spaced; null when blank. */
+    private static String tidy(String company) {
+        if (company == null || company.isBlank()) {
+            return null;
+        }
+        return company.trim().replaceAll("\\s+", " ");
+    }
+
+    private static String key(String tidy) {
+        return tidy == null ? null : tidy.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.CRM.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.CRM.dto.DashboardSummary;
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Task;
+import com.example.CRM.repository.ClientRepo;
+import com.example.CRM.repository.LeadRepo;
+import com.example.CRM.repository.TaskRepo;
+
+/**
+ * Builds dashboard figures from three GROUP BY queries (leads, clients, tasks)
+ * instead of shipping every row to the browser.
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private LeadRepo leadRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    /**
+     * Summary restricted to records assigned to {@code assigneeIds}.
+     */
+    @Transactional(readOnly = true)
+    public DashboardSummary getSummary(String scope, Collection<Long> assigneeIds, int year) {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        return build(scope, year,
+                leadRepo.countByStatusAndMonth(assigneeIds),
+                clientRepo.countByMonth(assigneeIds),
+                taskRepo.countByStatusAndDueMonth(assigneeIds),
+                taskRepo.countOpenDueBetween(assigneeIds, today, today.plusDays(1)));
+    }
+
+    /**
+     * Summary across all employees (admin view).
+     */
+    @Transactional(readOnly = true)
+    public DashboardSummary getOverallSummary(int year) {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        return build("all", year,
+                leadRepo.countByStatusAndMonthOverall(),
+                clientRepo.countByMonthOverall(),
+                taskRepo.countByStatusAndDueMonthOverall(),
+                taskRepo.countOpenDueBetweenOverall(today, today.plusDays(1)));
+    }
+
+    private DashboardSummary build(String scope, int year, List<Object[]> leadRows,
+            List<Object[]> clientRows, List<Object[]> taskRows, List<Object[]> dueTodayRows) {
+        long[] leadsPerMonth = new long[12];
+        long[] clientsPerMonth = new long[12];
+        long[] tasksPerMonth = new long[12];
+        long[] callsPerMonth = new long[12];
+
+        Map<String, Long> leadsByStatus = new LinkedHashMap<>();
+        for (Lead.LeadStatus s : Lead.LeadStatus.values()) {
+            leadsByStatus.put(s.name(), 0L);
+        }
+        long leads = 0;
+        for (Object[] row : leadRows) {
+            long count = ((Number) row[3]).longValue();
+            leads += count;
+            if (row[0] != null) {
+                leadsByStatus.merge(((Lead.LeadStatus) row[0]).name(), count, Long::sum);
+            }
+            addToMonth(leadsPerMonth, year, row[1], row[2], count);
+        }
+
+        long clients = 0;
+        for (Object[] row : clientRows) {
+            long count = ((Number) row[2]).longValue();
+            clients += count;
+            addToMonth(clientsPerMonth, year, row[0], row[1], count);
+        }
+
+        Map<String, Long> tasksByStatus = new LinkedHashMap<>();
+        for (Task.TaskStatus s : Task.TaskStatus.values()) {
+            tasksByStatus.put(s.name(), 0L);
+        }
+        long tasks = 0;
+        for (Object[] row : taskRows) {
+            long count = ((Number) row[3]).longValue();
+            tasks += count;
+            if (row[0] != null) {
+                tasksByStatus.merge(((Task.TaskStatus) row[0]).name(), count, Long::sum);
+            }
+            addToMonth(tasksPerMonth, year, row[1], row[2], count);
+            addToMonth(callsPerMonth, year, row[1], row[2], asLong(row[4]));
+        }
+
+        Object[] dueToday = dueTodayRows.isEmpty() ? new Object[2] : dueTodayRows.get(0);
+
+        List<DashboardSummary.Month> months = new ArrayList<>(12);
+        for (int m = 0; m < 12; m++) {
+            months.add(new DashboardSummary.Month(m + 1, leadsPerMonth[m], clientsPerMonth[m],
+                    tasksPerMonth[m], callsPerMonth[m]));
+        }
+        return new DashboardSummary(scope, year, leads, clients, tasks, leadsByStatus, tasksByStatus,
+                asLong(dueToday[0]), asLong(dueToday[1]), months);
+    }
+
+    private static long asLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private static void addToMonth(long[] perMonth, int year, Object rowYear, Object rowMonth, long count) {
+        if (rowYear == null || rowMonth == null || ((Number) rowYear).intValue() != year) {
+            return;
+        }
+        perMonth[((Number) rowMonth).intValue() - 1] += count;
+    }
+}
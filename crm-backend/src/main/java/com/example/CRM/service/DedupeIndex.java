@@ -0,0 +1,277 @@
+package com.example.CRM.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.dto.DuplicateMatch;
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.ClientChangedEvent;
+import com.example.CRM.event.ContactDetails;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.repository.ClientRepo;
+import com.example.CRM.repository.LeadRepo;
+
+/**
+ * Duplicate detection for incoming leads. Every lead and client is filed under
+ * normalized blocking keys: its email (case-insensitive, "+tag" dropped, dots
+ * ignored for Gmail) and its phone (digits only, last ten). A contact that shares
+ * a key with an existing record is a candidate duplicate.
+ * <p>
+ * A Bloom filter over all keys sits in front of the hash index, so a new contact
+ * is usually cleared with a few bit probes. Neither step touches the database.
+ * Rebuilt at startup and every {@code crm.dedupe.rebuild-interval} (which also
+ * clears Bloom bits left by deleted records), and kept current from the change
+ * events in between.
+ */
+@Component
+public class DedupeIndex {
+
+    private static final String EMAIL = "email";
+    private static final String PHONE = "phone";
+    private static final int PHONE_DIGITS = 10;
+    private static final Set<String> DOTLESS_DOMAINS = Set.of("gmail.com", "googlemail.com");
+
+    private record Doc(SearchIndex.Kind kind, long id, String name, String email, String phone, List<String> keys) {
+
+        long key() {
+            return (id << 1) | kind.ordinal();
+        }
+    }
+
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Set<Long>> byKey = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private BloomFilter bloom = new BloomFilter(1, 0.01);
+
+    @Value("${crm.dedupe.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Autowired
+    private LeadRepo leadRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    /**
+     * Reloads every lead and client. The Bloom filter is sized for twice the
+     * current key count so it stays near its target rate until the next rebuild.
+     */
+    @Scheduled(fixedDelayString = "${crm.dedupe.rebuild-interval:PT6H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            byKey.clear();
+            try (Stream<Object[]> rows = leadRepo.streamContactRows()) {
+                rows.forEach(r -> add(toDoc(SearchIndex.Kind.LEAD, r)));
+            }
+            try (Stream<Object[]> rows = clientRepo.streamContactRows()) {
+                rows.forEach(r -> add(toDoc(SearchIndex.Kind.CLIENT, r)));
+            }
+            bloom = new BloomFilter(Math.max(2L * byKey.size(), 1 << 16), falsePositiveRate);
+            byKey.keySet().forEach(bloom::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadChanged(LeadChangedEvent e) {
+        if (e.type() == ChangeType.DELETED || e.type() == ChangeType.CONVERTED) {
+            remove(SearchIndex.Kind.LEAD, e.leadId());
+        } else if (e.details() != null) {
+            put(toDoc(SearchIndex.Kind.LEAD, e.leadId(), e.details()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent e) {
+        if (e.type() == ChangeType.DELETED) {
+            remove(SearchIndex.Kind.CLIENT, e.clientId());
+        } else if (e.details() != null) {
+            put(toDoc(SearchIndex.Kind.CLIENT, e.clientId(), e.details()));
+        }
+    }
+
+    /**
+     * Existing leads and clients sharing the email or phone key of the given
+     * contact; empty when it is new.
+     */
+    public List<DuplicateMatch> findMatches(String email, String phone) {
+        String emailKey = emailKey(email);
+        String phoneKey = phoneKey(phone);
+
+        lock.readLock().lock();
+        try {
+            boolean maybeEmail = emailKey != null && bloom.mightContain(emailKey);
+            boolean maybePhone = phoneKey != null && bloom.mightContain(phoneKey);
+            if (!maybeEmail && !maybePhone) {
+                return List.of();
+            }
+            Map<Long, List<String>> reasons = new LinkedHashMap<>();
+            if (maybeEmail) {
+                collect(emailKey, EMAIL, reasons);
+            }
+            if (maybePhone) {
+                collect(phoneKey, PHONE, reasons);
+            }
+            List<DuplicateMatch> matches = new ArrayList<>(reasons.size());
+            reasons.forEach((key, on) -> {
+                Doc d = docs.get(key);
+                matches.add(new DuplicateMatch(d.kind() == SearchIndex.Kind.LEAD ? "lead" : "client",
+                        d.id(), d.name(), d.email(), d.phone(), List.copyOf(on)));
+            });
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The blocking keys of a contact, for callers that dedupe a batch among
+     * itself before checking it against the index.
+     */
+    public static List<String> keys(String email, String phone) {
+        List<String> keys = new ArrayList<>(2);
+        String e = emailKey(email);
+        String p = phoneKey(phone);
+        if (e != null) {
+            keys.add(e);
+        }
+        if (p != null) {
+            keys.add(p);
+        }
+        return keys;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Caller holds the read lock. */
+    private void collect(String key, String reason, Map<Long, List<String>> out) {
+        Set<Long> ids = byKey.get(key);
+        if (ids != null) {
+            ids.forEach(id -> out.computeIfAbsent(id, k -> new ArrayList<>(2)).add(reason));
+        }
+    }
+
+    private void put(Doc doc) {
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.remove(doc.key());
+            if (old != null) {
+                unindex(old);
+            }
+            add(doc);
+            doc.keys().forEach(bloom::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(SearchIndex.Kind kind, long id) {
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.remove((id << 1) | kind.ordinal());
+            if (old != null) {
+                unindex(old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Caller holds the write lock. */
+    private void add(Doc doc) {
+        docs.put(doc.key(), doc);
+        for (String k : doc.keys()) {
+            byKey.computeIfAbsent(k, x -> new HashSet<>(2)).add(doc.key());
+        }
+    }
+
+    /** Caller holds the write lock. Bloom bits stay set until the next rebuild. */
+    private void unindex(Doc doc) {
+        for (String k : doc.keys()) {
+            Set<Long> ids = byKey.get(k);
+            if (ids != null) {
+                ids.remove(doc.key());
+                if (ids.isEmpty()) {
+                    byKey.remove(k);
+                }
+            }
+        }
+    }
+
+    /** "e:" + local part without "+tag" (and without dots for Gmail) + "@" + domain; null if unusable. */
+    static String emailKey(String email) {
+        if (email == null) {
+            return null;
+        }
+        String e = email.trim().toLowerCase(Locale.ROOT);
+        int at = e.lastIndexOf('@');
+        if (at <= 0 || at == e.length() - 1) {
+            return null;
+        }
+        String local = e.substring(0, at);
+        String domain = e.substring(at + 1);
+        int plus = local.indexOf('+');
+        if (plus > 0) {
+            local = local.substring(0, plus);
+        }
+        if (DOTLESS_DOMAINS.contains(domain)) {
+            local = local.replace(".", "");
+            domain = "gmail.com";
+        }
+        return "e:" + local + "@" + domain;
+    }
+
+    /** "p:" + the last ten digits, so a country code does not matter; null if too short. */
+    static String phoneKey(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() < PHONE_DIGITS) {
+            return null;
+        }
+        return "p:" + digits.substring(digits.length() - PHONE_DIGITS);
+    }
+
+    private static Doc toDoc(SearchIndex.Kind kind, Object[] row) {
+        String email = (String) row[3];
+        String phone = (String) row[4];
+        return new Doc(kind, (Long) row[0], (String) row[2], email, phone, keys(email, phone));
+    }
+
+    private static Doc toDoc(SearchIndex.Kind kind, long id, ContactDetails d) {
+        return new Doc(kind, id, d.name(), d.email(), d.phone(), keys(d.email(), d.phone()));
+    }
+}
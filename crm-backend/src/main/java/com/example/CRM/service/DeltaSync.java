@@ -0,0 +1,107 @@
+package com.example.CRM.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.dto.DeltaPage;
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.ClientChangedEvent;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.event.TaskChangedEvent;
+import com.example.CRM.model.Tombstone;
+import com.example.CRM.repository.TombstoneRepo;
+
+/**
+ * Delta mode of the list endpoints ({@code ?since=}): rows whose {@code updatedAt}
+ * is after the watermark plus tombstones for the ids removed since.
+ * <p>
+ * Tombstones are written just before the deleting transaction commits, so a
+ * removal and its tombstone are never seen apart. They are kept for
+ * {@code crm.sync.tombstone-retention}; an older watermark gets a full resync.
+ * <p>
+ * {@code updatedAt} is stamped when a write starts, not when it commits, so the
+ * next watermark trails the request by {@code crm.sync.overlap}. Rows in that
+ * window may be sent twice, which is harmless; a write that takes longer than
+ * the overlap to commit can be missed until the row changes again.
+ */
+@Component
+public class DeltaSync {
+
+    @Autowired
+    private TombstoneRepo tombstoneRepo;
+
+    private final Duration retention;
+    private final Duration overlap;
+
+    public DeltaSync(@Value("${crm.sync.tombstone-retention:P7D}") Duration retention,
+            @Value("${crm.sync.overlap:5s}") Duration overlap) {
+        this.retention = retention;
+        this.overlap = overlap;
+    }
+
+    /**
+     * Changes to one list since {@code since}.
+     *
+     * @param ownerId      the employee whose list it is; null for the admin lists
+     * @param changedSince rows updated after the given time
+     * @param all          the whole list, for a full resync
+     */
+    public <T> DeltaPage<T> delta(Tombstone.EntityType type, Long ownerId, LocalDateTime since,
+            Function<LocalDateTime, List<T>> changedSince, Supplier<List<T>> all) {
+        // Taken before reading, so nothing committed during the reads is skipped next time
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime watermark = now.minus(overlap);
+        if (since.isBefore(now.minus(retention))) {
+            return new DeltaPage<>(all.get(), List.of(), watermark, true);
+        }
+        if (since.isAfter(watermark)) {
+            watermark = since;
+        }
+        List<T> changed = changedSince.apply(since);
+        List<Long> deleted = ownerId != null
+                ? tombstoneRepo.findDeletedSince(type, ownerId, since)
+                : tombstoneRepo.findAllDeletedSince(type, since);
+        return new DeltaPage<>(changed, deleted, watermark, false);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onLeadChanged(LeadChangedEvent e) {
+        if (e.type() == ChangeType.DELETED || e.type() == ChangeType.CONVERTED) {
+            bury(Tombstone.EntityType.LEAD, e.leadId(), e.assigneeId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent e) {
+        if (e.type() == ChangeType.DELETED || e.type() == ChangeType.COMPLETED) {
+            bury(Tombstone.EntityType.TASK, e.taskId(), e.assigneeId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent e) {
+        if (e.type() == ChangeType.DELETED) {
+            bury(Tombstone.EntityType.CLIENT, e.clientId(), e.assigneeId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${crm.sync.purge-interval:PT1H}")
+    public void purge() {
+        tombstoneRepo.deleteOlderThan(LocalDateTime.now().minus(retention));
+    }
+
+    private void bury(Tombstone.EntityType type, Long id, Long ownerId) {
+        tombstoneRepo.save(new Tombstone(type, id, ownerId, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.CRM.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.CRM.dto.TeamMember;
+
+/**
+ * Shares leads between departments by weight, then gives each to the least
+ * loaded employee of the chosen department. Weights come from
+ * {@code crm.assignment.department-weights}, e.g. {@code sales:3,support:1};
+ * unlisted departments weigh 1 and a weight of 0 takes a department out.
+ * Departments take turns by smooth weighted round-robin, so with 3:1 they go
+ * A A B A rather than A A A B.
+ */
+@Component
+public class DepartmentWeightedAssignment implements AssignmentStrategy {
+
+    private final Map<String, Integer> weights = new HashMap<>();
+
+    // Guarded by this; smooth weighted round-robin state per department
+    private final Map<String, Long> credit = new HashMap<>();
+    private final AtomicLong start = new AtomicLong();
+
+    public DepartmentWeightedAssignment(@Value("${crm.assignment.department-weights:}") String weights) {
+        for (String entry : weights.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] kv = entry.split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Bad department weight: " + entry);
+            }
+            this.weights.put(LeadAssigner.departmentKey(kv[0]), Integer.parseInt(kv[1].trim()));
+        }
+    }
+
+    @Override
+    public String name() {
+        return "department-weighted";
+    }
+
+    @Override
+    public TeamMember choose(LeadAssigner.Pool pool, ToLongFunction<Long> openLeads) {
+        String department = nextDepartment(pool.byDepartment().keySet());
+        List<TeamMember> members = department != null ? pool.byDepartment().get(department) : pool.members();
+        return LeastOpenLeadsAssignment.leastLoaded(members, openLeads, start.getAndIncrement());
+    }
+
+    /** Null when every department present weighs 0. */
+    private synchronized String nextDepartment(Iterable<String> departments) {
+        String best = null;
+        long bestCredit = Long.MIN_VALUE;
+        long total = 0;
+        for (String d : departments) {
+            int w = weights.getOrDefault(d, 1);
+            if (w <= 0) {
+                continue;
+            }
+            long c = credit.merge(d, (long) w, Long::sum);
+            total += w;
+            if (c > bestCredit) {
+                best = d;
+                bestCredit = c;
+            }
+        }
+        if (best != null) {
+            credit.merge(best, -total, Long::sum);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.CRM.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.CRM.model.Client;
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Users;
+import com.example.CRM.repository.ClientRepo;
+import com.example.CRM.repository.LeadRepo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Streams leads/clients straight from a database cursor to the response.
+ * Rows are written and detached one at a time, so heap use does not depend on
+ * the number of rows exported. On MySQL that needs {@code useCursorFetch=true}
+ * on the connection, which {@code JpaConfig} adds; without it the driver buffers
+ * the whole result set.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Format parse(String value) {
+            for (Format f : values()) {
+                if (f.name().equalsIgnoreCase(value)) {
+                    return f;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final List<String> LEAD_COLUMNS = List.of(
+            "id", "name", "email", "phone", "company", "status", "createdAt", "updatedAt", "assignedTo");
+
+    private static final List<String> CLIENT_COLUMNS = List.of(
+            "id", "name", "email", "phone", "company", "address", "createdAt", "assignedTo");
+
+    @Autowired
+    private LeadRepo leadRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long writeLeads(Format format, OutputStream out) throws IOException {
+        try (Stream<Lead> leads = leadRepo.streamAllForExport()) {
+            return write(leads, LEAD_COLUMNS, this::leadRow, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long writeClients(Format format, OutputStream out) throws IOException {
+        try (Stream<Client> clients = clientRepo.streamAllForExport()) {
+            return write(clients, CLIENT_COLUMNS, this::clientRow, format, out);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, List<String> columns, Function<T, Map<String, Object>> toRow,
+            Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        ObjectWriter json = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == Format.CSV) {
+            writeCsvLine(writer, columns);
+            // Send the header right away so the download starts immediately.
+            writer.flush();
+        }
+
+        long count = 0;
+        var it = rows.iterator();
+        while (it.hasNext()) {
+            T entity = it.next();
+            Map<String, Object> row = toRow.apply(entity);
+            entityManager.detach(entity);
+
+            if (format == Format.NDJSON) {
+                json.writeValue(writer, row);
+                writer.write('\n');
+            } else {
+                writeCsvLine(writer, row.values());
+            }
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private Map<String, Object> leadRow(Lead l) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", l.getId());
+        row.put("name", l.getName());
+        row.put("email", l.getEmail());
+        row.put("phone", l.getPhone());
+        row.put("company", l.getCompany());
+        row.put("status", l.getStatus());
+        row.put("createdAt", l.getCreatedAt());
+        row.put("updatedAt", l.getUpdatedAt());
+        row.put("assignedTo", nameOf(l.getAssignedTo()));
+        return row;
+    }
+
+    private Map<String, Object> clientRow(Client c) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", c.getId());
+        row.put("name", c.getName());
+        row.put("email", c.getEmail());
+        row.put("phone", c.getPhone());
+        row.put("company", c.getCompany());
+        row.put("address", c.getAddress());
+        row.put("createdAt", c.getCreatedAt());
+        row.put("assignedTo", nameOf(c.getAssignedTo()));
+        return row;
+    }
+
+    private static String nameOf(Users u) {
+        return u != null ? u.getName() : null;
+    }
+
+    private static void writeCsvLine(Writer writer, Iterable<?> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvEscape(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.CRM.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs independent reads of one request concurrently, in the shape of
+ * {@code StructuredTaskScope.ShutdownOnFailure} (a preview API in Java 21):
+ * open a {@link Scope}, {@link Scope#fork fork} the reads, {@link Scope#join join},
+ * then read the results. The first failure cancels the other subtasks and is
+ * rethrown by {@code join}; closing the scope cancels whatever is unfinished.
+ * <p>
+ * Each forked subtask needs a connection of its own while its caller may hold
+ * one, so forking is only safe while requests are admitted against the pool
+ * too. It therefore only happens in virtual-thread mode
+ * ({@code spring.threads.virtual.enabled}), where {@code AdmissionFilter} does
+ * that, and only when {@link Admission} has a spare permit. Otherwise the
+ * subtask runs on the caller's thread during {@code join}, so a busy pool, or
+ * platform-thread mode, degrades to sequential reads instead of deadlocking.
+ * Forked subtasks do not see the caller's transaction or security context and
+ * must be given what they need.
+ */
+@Component
+public class FanOut {
+
+    @Autowired
+    private Admission admission;
+
+    // Null in platform-thread mode: everything runs on the caller's thread
+    private final ExecutorService executor;
+
+    public FanOut(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fanout-", 0).factory())
+                : null;
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** One fan-out; not thread-safe, use it from the thread that opened it. */
+    public final class Scope implements AutoCloseable {
+
+        private final List<Subtask<?>> subtasks = new ArrayList<>();
+        private boolean joined;
+
+        public <T> Supplier<T> fork(Callable<T> task) {
+            if (joined) {
+                throw new IllegalStateException("Already joined");
+            }
+            Subtask<T> s = new Subtask<>(task);
+            if (executor != null && admission.tryEnter()) {
+                s.future = executor.submit(() -> {
+                    try {
+                        return task.call();
+                    } finally {
+                        admission.leave();
+                    }
+                });
+            }
+            subtasks.add(s);
+            return s;
+        }
+
+        /** Waits for every subtask; rethrows the first failure after cancelling the rest. */
+        public void join() {
+            joined = true;
+            try {
+                for (Subtask<?> s : subtasks) {
+                    s.complete();
+                }
+            } catch (RuntimeException | Error e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            for (Subtask<?> s : subtasks) {
+                if (s.future != null) {
+                    s.future.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static final class Subtask<T> implements Supplier<T> {
+
+        final Callable<T> task;
+        Future<T> future; // null when it runs on the caller's thread
+        T result;
+        boolean done;
+
+        Subtask(Callable<T> task) {
+            this.task = task;
+        }
+
+        void complete() {
+            try {
+                result = future != null ? future.get() : task.call();
+                done = true;
+            } catch (ExecutionException e) {
+                throw unchecked(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while joining");
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("Subtask not joined");
+            }
+            return result;
+        }
+
+        private static RuntimeException unchecked(Throwable t) {
+            if (t instanceof RuntimeException r) {
+                return r;
+            }
+            if (t instanceof Error e) {
+                throw e;
+            }
+            return new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.CRM.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.CRM.dto.TeamMember;
+import com.example.CRM.model.Users;
+import com.example.CRM.repository.UserRepo;
+
+/**
+ * Automatic lead assignment. The pool is every employee whose role is in
+ * {@code crm.assignment.roles}, taken from {@link OrgTree}; the load of each is
+ * their open-lead count from {@link PipelineCounters}, which follows lead
+ * creates, status changes, conversions and deletes. Choosing an assignee
+ * therefore runs no query at all. Strategies are {@link AssignmentStrategy}
+ * beans; {@code crm.assignment.strategy} names the default one.
+ */
+@Service
+public class LeadAssigner {
+
+    /** Employees leads may go to, ordered by id, and the same grouped by department. */
+    public record Pool(List<TeamMember> members, Map<String, List<TeamMember>> byDepartment) {
+    }
+
+    // Rebuilt when the org tree hands out a new roster
+    private record CachedPool(List<TeamMember> roster, Pool pool) {
+    }
+
+    @Autowired
+    private OrgTree orgTree;
+
+    @Autowired
+    private PipelineCounters pipelineCounters;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private final Map<String, AssignmentStrategy> strategies;
+    private final String defaultStrategy;
+    private final Set<String> roles;
+
+    private volatile CachedPool cached;
+
+    public LeadAssigner(List<AssignmentStrategy> strategies,
+            @Value("${crm.assignment.strategy:least-open-leads}") String defaultStrategy,
+            @Value("${crm.assignment.roles:employee}") String roles) {
+        this.strategies = strategies.stream()
+                .collect(Collectors.toUnmodifiableMap(AssignmentStrategy::name, s -> s));
+        if (!this.strategies.containsKey(defaultStrategy)) {
+            throw new IllegalArgumentException("Unknown assignment strategy: " + defaultStrategy);
+        }
+        this.defaultStrategy = defaultStrategy;
+        this.roles = Arrays.stream(roles.split(","))
+                .map(r -> r.trim().toLowerCase(Locale.ROOT))
+                .filter(r -> !r.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * The employee a new lead should go to, as an unloaded reference, or null
+     * when nobody is eligible. {@code strategy} is a strategy name, or "auto"
+     * or null for the default.
+     */
+    public Users assign(String strategy) {
+        AssignmentStrategy s = strategy(strategy);
+        Pool pool = pool();
+        if (pool.members().isEmpty()) {
+            return null;
+        }
+        TeamMember chosen = s.choose(pool, pipelineCounters::openLeads);
+        return userRepo.getReferenceById(chosen.id());
+    }
+
+    private AssignmentStrategy strategy(String name) {
+        if (name == null || name.isBlank() || name.equalsIgnoreCase("auto")) {
+            return strategies.get(defaultStrategy);
+        }
+        AssignmentStrategy s = strategies.get(name.trim().toLowerCase(Locale.ROOT));
+        if (s == null) {
+            throw new IllegalArgumentException("Unknown assignment strategy: " + name
+                    + " (expected auto or one of " + strategies.keySet() + ")");
+        }
+        return s;
+    }
+
+    private Pool pool() {
+        List<TeamMember> roster = orgTree.employees();
+        CachedPool c = cached;
+        if (c != null && c.roster() == roster) {
+            return c.pool();
+        }
+        List<TeamMember> members = new ArrayList<>();
+        Map<String, List<TeamMember>> byDepartment = new TreeMap<>();
+        for (TeamMember m : roster) {
+            if (m.role() != null && roles.contains(m.role().trim().toLowerCase(Locale.ROOT))) {
+                members.add(m);
+                byDepartment.computeIfAbsent(departmentKey(m.department()), d -> new ArrayList<>()).add(m);
+            }
+        }
+        byDepartment.replaceAll((d, list) -> Collections.unmodifiableList(list));
+        Pool pool = new Pool(Collections.unmodifiableList(members), Collections.unmodifiableMap(byDepartment));
+        cached = new CachedPool(roster, pool);
+        return pool;
+    }
+
+    static String departmentKey(String department) {
+        return department == null ? "" : department.trim().toLowerCase(Locale.ROOT);
+    }
+}
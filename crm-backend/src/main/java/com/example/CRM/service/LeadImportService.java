@@ -0,0 +1,285 @@
+package com.example.CRM.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.CRM.dto.DuplicateMatch;
+import com.example.CRM.dto.ImportReport;
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.ContactDetails;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Users;
+import com.example.CRM.repository.LeadRepo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk lead import from CSV. The upload is parsed as a stream, each row is
+ * checked against the Bean Validation constraints on {@link Lead}, and valid
+ * rows are persisted in chunks, each chunk in its own transaction and sent to
+ * the database as JDBC batches.
+ *
+ * Expected header (case-insensitive, any order): name, email, phone and
+ * optionally company and status. Missing status defaults to NEW.
+ * <p>
+ * Rows that share an email or phone key (see {@link DedupeIndex}) with an
+ * existing contact or an earlier row are rejected, unless duplicates are allowed;
+ * then only email clashes (ignoring case) are, since the database would refuse those.
+ */
+@Service
+public class LeadImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private LeadRepo leadRepo;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private DedupeIndex dedupeIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${crm.import.chunk-size:500}")
+    private int chunkSize;
+
+    private record Row(long line, Lead lead) {
+    }
+
+    private static final class Progress {
+        long total;
+        long imported;
+        long failed;
+        final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        void reject(long line, String email, List<String> messages) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(line, email, messages));
+            }
+        }
+    }
+
+    public ImportReport importCsv(InputStream in, Users owner, boolean allowDuplicates) throws IOException {
+        long started = System.nanoTime();
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+
+        List<String> header = next(csv, 0);
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "email", "phone")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Missing required column: " + required);
+            }
+        }
+
+        Progress progress = new Progress();
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenKeys = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        List<String> record;
+        while ((record = next(csv, progress.imported)) != null) {
+            progress.total++;
+            long line = csv.getRecordLine();
+            Lead lead = toLead(record, columns, owner);
+
+            List<String> problems = new ArrayList<>();
+            if (lead.getStatus() == null) {
+                problems.add("Unknown status: " + field(record, columns, "status"));
+                lead.setStatus(Lead.LeadStatus.NEW);
+            }
+            for (ConstraintViolation<Lead> v : validator.validate(lead)) {
+                problems.add(v.getPropertyPath() + ": " + v.getMessage());
+            }
+            if (problems.isEmpty() && !seenEmails.add(emailKey(lead.getEmail()))) {
+                problems.add("email: duplicate of an earlier row in this file");
+            }
+            if (problems.isEmpty() && !allowDuplicates) {
+                for (String key : DedupeIndex.keys(lead.getEmail(), lead.getPhone())) {
+                    if (!seenKeys.add(key)) {
+                        problems.add((key.startsWith("e:") ? "email" : "phone")
+                                + ": looks like a duplicate of an earlier row in this file");
+                    }
+                }
+            }
+            if (!problems.isEmpty()) {
+                progress.reject(line, lead.getEmail(), problems);
+                continue;
+            }
+
+            chunk.add(new Row(line, lead));
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, progress, allowDuplicates);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, progress, allowDuplicates);
+        }
+
+        progress.errors.sort(Comparator.comparingLong(ImportReport.RowError::line));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        double rate = elapsedMillis == 0 ? progress.imported : progress.imported * 1000.0 / elapsedMillis;
+        return new ImportReport(progress.total, progress.imported, progress.failed, elapsedMillis,
+                Math.round(rate * 10) / 10.0, progress.errors, progress.failed > progress.errors.size());
+    }
+
+    /**
+     * Next record; a malformed file is a bad request, reported with the line and
+     * with how much of it was already imported.
+     */
+    private static List<String> next(CsvReader csv, long imported) throws IOException {
+        try {
+            return csv.next();
+        } catch (CsvReader.MalformedCsvException e) {
+            throw new IllegalArgumentException(e.getMessage() + "; import stopped after "
+                    + imported + " imported rows", e);
+        }
+    }
+
+    /**
+     * Drops rows that duplicate an existing contact, then inserts the rest in one
+     * transaction. The check runs against {@link DedupeIndex}; only when
+     * duplicates are allowed does it fall back to a query for taken emails.
+     */
+    private void writeChunk(List<Row> chunk, Progress progress, boolean allowDuplicates) {
+        Set<String> existing = new HashSet<>();
+        if (allowDuplicates) {
+            leadRepo.findExistingEmails(chunk.stream().map(r -> r.lead().getEmail()).toList())
+                    .forEach(email -> existing.add(emailKey(email)));
+        }
+
+        List<Lead> toInsert = new ArrayList<>(chunk.size());
+        List<Row> pending = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            Lead lead = row.lead();
+            if (existing.contains(emailKey(lead.getEmail()))) {
+                progress.reject(row.line(), lead.getEmail(), List.of("email: a lead with this email already exists"));
+                continue;
+            }
+            if (!allowDuplicates) {
+                List<DuplicateMatch> matches = dedupeIndex.findMatches(lead.getEmail(), lead.getPhone());
+                if (!matches.isEmpty()) {
+                    progress.reject(row.line(), lead.getEmail(), matches.stream()
+                            .map(m -> "possible duplicate of " + m.type() + " " + m.id()
+                                    + " (" + String.join(", ", m.matchedOn()) + ")")
+                            .toList());
+                    continue;
+                }
+            }
+            toInsert.add(lead);
+            pending.add(row);
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                toInsert.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+                // Delivered to listeners only if the chunk commits
+                toInsert.forEach(l -> events.publishEvent(new LeadChangedEvent(ChangeType.CREATED, l.getId(),
+                        l.getAssignedTo().getId(), null, l.getStatus(), null, ContactDetails.of(l))));
+            });
+            progress.imported += toInsert.size();
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            // Lost a race with a concurrent insert; the whole chunk was rolled back. The flush
+            // throws Hibernate's exception untranslated, the commit Spring's translated one.
+            String cause = rootCause(e).getMessage();
+            for (Row row : pending) {
+                progress.reject(row.line(), row.lead().getEmail(),
+                        List.of("rejected by the database together with its batch: " + cause));
+            }
+        }
+    }
+
+    /**
+     * Emails compared case-insensitively, as the unique index on leads.email is
+     * under MySQL's default collation.
+     */
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root;
+    }
+
+    private static Lead toLead(List<String> record, Map<String, Integer> columns, Users owner) {
+        LocalDateTime now = LocalDateTime.now();
+        Lead lead = new Lead();
+        lead.setName(field(record, columns, "name"));
+        lead.setEmail(field(record, columns, "email"));
+        lead.setPhone(field(record, columns, "phone"));
+        lead.setCompany(field(record, columns, "company"));
+        String status = field(record, columns, "status");
+        lead.setStatus(status == null ? Lead.LeadStatus.NEW : parseStatus(status));
+        lead.setCreatedAt(now);
+        lead.setUpdatedAt(now);
+        lead.setAssignedTo(owner);
+        return lead;
+    }
+
+    private static Lead.LeadStatus parseStatus(String value) {
+        try {
+            return Lead.LeadStatus.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** Trimmed cell value, or null when the column is absent or the cell is blank. */
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        if (i == null || i >= record.size()) {
+            return null;
+        }
+        String value = record.get(i).trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.CRM.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.event.TaskChangedEvent;
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Task;
+import com.example.CRM.repository.LeadRepo;
+import com.example.CRM.repository.TaskRepo;
+
+/**
+ * Lead scores and a per-employee index of them, best first, so the top K leads
+ * of an employee are the first K entries of a skip list.
+ * <p>
+ * A lead scores for its status, for each open task on it (up to
+ * {@value #MAX_SCORED_TASKS}) and for having a company, and loses
+ * {@code crm.scoring.decay-per-day} points per day since it was last updated.
+ * Since every lead loses points at the same rate, the index is keyed on the
+ * score plus the decay accrued up to the last update, which never changes as
+ * time passes; only writes move a lead. Lead and task events update it;
+ * LOST leads are tracked but not ranked.
+ * <p>
+ * Rebuilt from two queries at startup and every {@code crm.scoring.rebuild-interval}
+ * to repair any drift, e.g. events lost to a crash. The rebuild holds the lock
+ * from before its queries until the swap, so an event is either in what they
+ * read or applied afterwards, never lost; applying a creation twice is harmless.
+ * It takes its connection before the lock: writers wait for the lock in their
+ * after-commit listeners while still holding theirs.
+ */
+@Component
+public class LeadScores {
+
+    /** One index entry; best first, newest lead first among equal keys. */
+    public record Ranked(double key, long leadId) {
+        static final Comparator<Ranked> BEST_FIRST = Comparator.comparingDouble(Ranked::key).reversed()
+                .thenComparing(Comparator.comparingLong(Ranked::leadId).reversed());
+    }
+
+    private static final int MAX_SCORED_TASKS = 5;
+    private static final double SECONDS_PER_DAY = 86_400;
+
+    private static final class Scored {
+        Long ownerId;
+        Lead.LeadStatus status;
+        boolean hasCompany;
+        long updatedAt; // epoch seconds
+        int todoTasks;
+        int inProgressTasks;
+        Ranked ranked; // null while not in the index
+    }
+
+    private record TaskRef(Long leadId, Task.TaskStatus status) {
+    }
+
+    @Autowired
+    private LeadRepo leadRepo;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    private final double decayPerDay;
+
+    // Guarded by lock (not synchronized: the rebuild runs queries while holding it,
+    // which would pin waiting virtual threads); the index is also read without it
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Long, Scored> leads = new HashMap<>();
+    private Map<Long, TaskRef> tasks = new HashMap<>();
+    private volatile Map<Long, NavigableSet<Ranked>> byOwner = new ConcurrentHashMap<>();
+
+    public LeadScores(@Value("${crm.scoring.decay-per-day:5}") double decayPerDay) {
+        this.decayPerDay = decayPerDay;
+    }
+
+    /** The employee's {@code k} best-scoring open leads, best first; O(k). */
+    public List<Ranked> top(Long ownerId, int k) {
+        NavigableSet<Ranked> index = byOwner.get(ownerId);
+        if (index == null || k <= 0) {
+            return List.of();
+        }
+        List<Ranked> top = new ArrayList<>(Math.min(k, 64));
+        Iterator<Ranked> it = index.iterator();
+        while (top.size() < k && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    /** The score an index entry stands for, as of now. */
+    public double scoreNow(Ranked r) {
+        return r.key() - decayPerDay * (System.currentTimeMillis() / 1000) / SECONDS_PER_DAY;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadChanged(LeadChangedEvent e) {
+        lock.lock();
+        try {
+            applyLeadChange(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent e) {
+        lock.lock();
+        try {
+            applyTaskChange(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${crm.scoring.rebuild-interval:PT30M}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.lock();
+        try {
+            Map<Long, Scored> freshLeads = new HashMap<>();
+            for (Object[] r : leadRepo.findScoringRows()) {
+                Scored s = new Scored();
+                s.ownerId = (Long) r[1];
+                s.status = (Lead.LeadStatus) r[2];
+                s.hasCompany = hasText((String) r[3]);
+                s.updatedAt = r[4] != null ? epochSeconds((LocalDateTime) r[4]) : 0;
+                freshLeads.put((Long) r[0], s);
+            }
+            Map<Long, TaskRef> freshTasks = new HashMap<>();
+            for (Object[] r : taskRepo.findScoringRows()) {
+                freshTasks.put((Long) r[0], new TaskRef((Long) r[1], (Task.TaskStatus) r[2]));
+            }
+            freshTasks.values().forEach(ref -> count(freshLeads.get(ref.leadId()), ref.status(), 1));
+            // Filled on the side so readers never see a half-built index
+            Map<Long, NavigableSet<Ranked>> freshIndex = new ConcurrentHashMap<>();
+            freshLeads.forEach((id, s) -> index(s, id, freshIndex));
+            leads = freshLeads;
+            tasks = freshTasks;
+            byOwner = freshIndex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyLeadChange(LeadChangedEvent e) {
+        long now = System.currentTimeMillis() / 1000;
+        switch (e.type()) {
+            case CREATED -> {
+                Scored s = new Scored();
+                s.ownerId = e.assigneeId();
+                s.status = e.after();
+                s.hasCompany = e.details() != null && hasText(e.details().company());
+                s.updatedAt = now;
+                // Already there if a rebuild read the lead before this event came in
+                Scored old = leads.put(e.leadId(), s);
+                if (old != null) {
+                    unindex(old);
+                    s.todoTasks = old.todoTasks;
+                    s.inProgressTasks = old.inProgressTasks;
+                }
+                reindex(s, e.leadId());
+            }
+            case UPDATED -> {
+                Scored s = leads.get(e.leadId());
+                if (s == null) {
+                    return;
+                }
+                if (e.after() != null) {
+                    s.status = e.after();
+                }
+                if (e.details() != null) {
+                    s.hasCompany = hasText(e.details().company());
+                }
+                if (e.assigneeId() != null && !e.assigneeId().equals(s.ownerId)) {
+                    unindex(s);
+                    s.ownerId = e.assigneeId();
+                }
+                s.updatedAt = now;
+                reindex(s, e.leadId());
+            }
+            case DELETED, CONVERTED -> {
+                Scored s = leads.remove(e.leadId());
+                if (s != null) {
+                    unindex(s);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void applyTaskChange(TaskChangedEvent e) {
+        if (e.type() == ChangeType.CREATED) {
+            if (e.relatedLeadId() != null && !tasks.containsKey(e.taskId())) {
+                TaskRef ref = new TaskRef(e.relatedLeadId(), e.after());
+                tasks.put(e.taskId(), ref);
+                countTask(ref, 1);
+            }
+        } else if (e.type() == ChangeType.DELETED || e.type() == ChangeType.COMPLETED) {
+            TaskRef ref = tasks.remove(e.taskId());
+            if (ref != null) {
+                countTask(ref, -1);
+            }
+        } else if (e.after() != null) {
+            TaskRef ref = tasks.get(e.taskId());
+            if (ref != null && ref.status() != e.after()) {
+                countTask(ref, -1);
+                TaskRef moved = new TaskRef(ref.leadId(), e.after());
+                tasks.put(e.taskId(), moved);
+                countTask(moved, 1);
+            }
+        }
+    }
+
+    private void countTask(TaskRef ref, int delta) {
+        Scored s = leads.get(ref.leadId());
+        if (s != null) {
+            count(s, ref.status(), delta);
+            reindex(s, ref.leadId());
+        }
+    }
+
+    private static void count(Scored s, Task.TaskStatus status, int delta) {
+        if (s == null) {
+            return;
+        }
+        if (status == Task.TaskStatus.IN_PROGRESS) {
+            s.inProgressTasks += delta;
+        } else if (status != Task.TaskStatus.COMPLETED) {
+            s.todoTasks += delta;
+        }
+    }
+
+    private void reindex(Scored s, Long leadId) {
+        unindex(s);
+        index(s, leadId, byOwner);
+    }
+
+    private void index(Scored s, Long leadId, Map<Long, NavigableSet<Ranked>> index) {
+        if (s.ownerId == null || s.status == Lead.LeadStatus.LOST || s.status == Lead.LeadStatus.CONVERTED) {
+            return;
+        }
+        s.ranked = new Ranked(points(s) + decayPerDay * s.updatedAt / SECONDS_PER_DAY, leadId);
+        index.computeIfAbsent(s.ownerId, id -> new ConcurrentSkipListSet<>(Ranked.BEST_FIRST)).add(s.ranked);
+    }
+
+    private void unindex(Scored s) {
+        if (s.ranked != null) {
+            NavigableSet<Ranked> index = byOwner.get(s.ownerId);
+            if (index != null) {
+                index.remove(s.ranked);
+            }
+            s.ranked = null;
+        }
+    }
+
+    /** Score before decay. */
+    private static double points(Scored s) {
+        double points = switch (s.status != null ? s.status : Lead.LeadStatus.NEW) {
+            case QUALIFIED -> 60;
+            case CONTACTED -> 35;
+            default -> 20;
+        };
+        // In-progress tasks count first towards the cap
+        int inProgress = Math.min(s.inProgressTasks, MAX_SCORED_TASKS);
+        int todo = Math.min(s.todoTasks, MAX_SCORED_TASKS - inProgress);
+        points += 8 * inProgress + 4 * todo;
+        if (s.hasCompany) {
+            points += 10;
+        }
+        return points;
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+
+    private static long epochSeconds(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -1,15 +1,41 @@
 package com.example.CRM.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.example.CRM.model.Client;
+import com.example.CRM.dto.AdminLeadView;
+import com.example.CRM.dto.BulkResult;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.DeltaPage;
+import com.example.CRM.dto.DuplicateMatch;
+import com.example.CRM.dto.LeadView;
+import com.example.CRM.dto.ListQuery;
+import com.example.CRM.dto.ScoredLead;
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.ContactDetails;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.event.LeadState;
 import com.example.CRM.model.Lead;
+import com.example.CRM.model.Tombstone;
 import com.example.CRM.model.Users;
+import com.example.CRM.repository.Keyset;
 import com.example.CRM.repository.LeadRepo;
+import com.example.CRM.repository.TaskRepo;
+import com.example.CRM.repository.Views;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class LeadService {
@@ -20,15 +46,114 @@ public class LeadService {
     @Autowired
     private ClientService clientService;
 
-    public void saveLead(Lead l) {
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DedupeIndex dedupeIndex;
+
+    @Autowired
+    private DeltaSync deltaSync;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private LeadScores leadScores;
+
+    /**
+     * Saves the lead unless it looks like an existing lead or client (see
+     * {@link DedupeIndex}), in which case nothing is saved and the matches are
+     * returned. {@code allowDuplicates} skips the check.
+     *
+     * @return the candidate duplicates; empty when the lead was saved
+     */
+    public List<DuplicateMatch> saveLead(Lead l, boolean allowDuplicates) {
+        if (!allowDuplicates) {
+            List<DuplicateMatch> matches = dedupeIndex.findMatches(l.getEmail(), l.getPhone());
+            if (!matches.isEmpty()) {
+                return matches;
+            }
+        }
         LocalDateTime now = LocalDateTime.now();
         l.setCreatedAt(now);
         l.setUpdatedAt(now);
         leadRepo.save(l);
+        events.publishEvent(new LeadChangedEvent(ChangeType.CREATED, l.getId(), assigneeId(l), null, l.getStatus(),
+                null, ContactDetails.of(l)));
+        return List.of();
     }
 
-    public List<Lead> getLeadsByAssignedTo(Users u) {
-        return leadRepo.findByAssignedTo(u);
+    public List<LeadView> getLeadsByAssignedTo(Users u) {
+        return leadRepo.findViewsByAssignedTo(u);
+    }
+
+    /**
+     * The user's leads changed or removed after {@code since} (see {@link DeltaSync}).
+     */
+    public DeltaPage<LeadView> getLeadChanges(Users u, LocalDateTime since) {
+        return deltaSync.delta(Tombstone.EntityType.LEAD, u.getId(), since,
+                s -> leadRepo.findViewsByAssignedToUpdatedAfter(u, s), () -> leadRepo.findViewsByAssignedTo(u));
+    }
+
+    /**
+     * Same as {@link #getLeadChanges(Users, LocalDateTime)} across all employees, admin row shape.
+     */
+    public DeltaPage<AdminLeadView> getAdminLeadChanges(LocalDateTime since) {
+        return deltaSync.delta(Tombstone.EntityType.LEAD, null, since,
+                leadRepo::findAdminViewsUpdatedAfter, leadRepo::findAllAdminViews);
+    }
+
+    /**
+     * One keyset page of leads. Pass {@code query.forAssignee(...)} to scope it to an employee.
+     */
+    public CursorPage<LeadView> getLeadPage(ListQuery query) {
+        return Keyset.page(entityManager, Lead.class, query, query.status(Lead.LeadStatus.class),
+                LeadView.class, Views::lead);
+    }
+
+    /**
+     * Same as {@link #getLeadPage(ListQuery)} across a set of employees, e.g. a manager's team.
+     */
+    public CursorPage<LeadView> getLeadPage(ListQuery query, Collection<Long> assigneeIds) {
+        return Keyset.page(entityManager, Lead.class, query, assigneeIds, query.status(Lead.LeadStatus.class),
+                LeadView.class, Views::lead);
+    }
+
+    /**
+     * Same as {@link #getLeadPage(ListQuery)} with the admin row shape.
+     */
+    public CursorPage<AdminLeadView> getAdminLeadPage(ListQuery query) {
+        return Keyset.page(entityManager, Lead.class, query, query.status(Lead.LeadStatus.class),
+                AdminLeadView.class, Views::adminLead);
+    }
+
+    /**
+     * The user's {@code k} best-scoring open leads, best first (see {@link LeadScores}).
+     * The ranking is in memory; only the {@code k} rows shown are read.
+     */
+    public List<ScoredLead> getTopLeads(Users u, int k) {
+        List<LeadScores.Ranked> top = leadScores.top(u.getId(), k);
+        if (top.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, LeadView> views = leadRepo.findViewsByIdIn(top.stream().map(LeadScores.Ranked::leadId).toList())
+                .stream().collect(Collectors.toMap(LeadView::id, v -> v));
+        List<ScoredLead> result = new ArrayList<>(top.size());
+        for (LeadScores.Ranked r : top) {
+            LeadView v = views.get(r.leadId());
+            // Gone if it was removed since the ranking was read
+            if (v != null) {
+                result.add(new ScoredLead(Math.round(leadScores.scoreNow(r) * 10) / 10.0, v));
+            }
+        }
+        return result;
     }
 
     public Lead getleadById(Long id) {
@@ -37,46 +162,111 @@ public class LeadService {
 
     public void deleteLead(Lead l) {
         leadRepo.delete(l);
+        events.publishEvent(new LeadChangedEvent(ChangeType.DELETED, l.getId(), assigneeId(l), l.getStatus(), null,
+                ContactDetails.of(l), null));
     }
 
     /**
-     * Same logic as your controller's updateLead — just moved here.
+     * True if the lead exists and is assigned to {@code u}; a single primary-key probe.
      */
+    public boolean isLeadOwnedBy(Long leadId, Users u) {
+        return leadRepo.existsByIdAndAssignedTo(leadId, u);
+    }
+
+    /**
+     * Lazy reference for wiring associations without loading the row.
+     */
+    public Lead getLeadReference(Long id) {
+        return leadRepo.getReferenceById(id);
+    }
+
+    /**
+     * Partial update of one of the user's leads. Touches only that row: one locked
+     * read of its current state, then a single conditional UPDATE, or for a
+     * conversion the set-based conversion of that one lead.
+     */
+    @Transactional
     public String updateLeadForUser(Lead leadPatch, Users currentUser) {
-        List<Lead> employeeLeads = getLeadsByAssignedTo(currentUser);
-
-        for (Lead existingLead : employeeLeads) {
-            if (existingLead.getId().equals(leadPatch.getId())) {
-                // ✅ Partial update — only update provided fields
-                if (leadPatch.getName() != null) existingLead.setName(leadPatch.getName());
-                if (leadPatch.getEmail() != null) existingLead.setEmail(leadPatch.getEmail());
-                if (leadPatch.getPhone() != null) existingLead.setPhone(leadPatch.getPhone());
-                if (leadPatch.getCompany() != null) existingLead.setCompany(leadPatch.getCompany());
-                if (leadPatch.getStatus() != null) existingLead.setStatus(leadPatch.getStatus());
-                existingLead.setUpdatedAt(LocalDateTime.now());
-
-                // ✅ Convert to client if status is CONVERTED
-                if (leadPatch.getStatus() == Lead.LeadStatus.CONVERTED) {
-                    Client client = new Client();
-                    client.setName(existingLead.getName());
-                    client.setEmail(existingLead.getEmail());
-                    client.setPhone(existingLead.getPhone());
-                    client.setCompany(existingLead.getCompany());
-                    client.setAddress("N/A");
-                    client.setCreatedAt(LocalDateTime.now());
-                    client.setAssignedTo(existingLead.getAssignedTo());
-
-                    clientService.saveClient(client);
-                    deleteLead(existingLead); // delete lead after conversion
-
-                    return "Lead converted to client and deleted successfully.";
-                } else {
-                    saveLead(existingLead); // Save updated lead
-                    return "Lead updated successfully.";
-                }
+        LocalDateTime now = LocalDateTime.now();
+        Long id = leadPatch.getId();
+
+        // Also the ownership check
+        Optional<LeadState> current = leadRepo.lockStateForOwner(id, currentUser);
+        if (current.isEmpty()) {
+            return "You are not authorized to update this lead or lead not found.";
+        }
+        LeadState before = current.get();
+        ContactDetails patch = ContactDetails.of(leadPatch);
+        ContactDetails after = before.details().patchedWith(patch);
+
+        if (leadPatch.getStatus() != Lead.LeadStatus.CONVERTED) {
+            leadRepo.patchForOwner(id, currentUser,
+                    leadPatch.getName(), leadPatch.getEmail(), leadPatch.getPhone(),
+                    leadPatch.getCompany(), leadPatch.getStatus(), now);
+            boolean detailsTouched = !patch.isEmpty();
+            if (patch.name() != null || patch.company() != null) {
+                // Task rows show these, so task deltas must pick the change up
+                taskRepo.touchForLead(id, now);
             }
+            events.publishEvent(new LeadChangedEvent(ChangeType.UPDATED, id, currentUser.getId(),
+                    leadPatch.getStatus() != null ? before.status() : null, leadPatch.getStatus(),
+                    detailsTouched ? before.details() : null, detailsTouched ? after : null));
+            return "Lead updated successfully.";
         }
 
-        return "You are not authorized to update this lead or lead not found.";
+        // ✅ Apply the other provided fields, then convert to client
+        leadRepo.patchForOwner(id, currentUser,
+                leadPatch.getName(), leadPatch.getEmail(), leadPatch.getPhone(),
+                leadPatch.getCompany(), null, now);
+        convertLeads(List.of(new LeadState(id, before.status(),
+                after.name(), after.email(), after.phone(), after.company())), currentUser, now);
+
+        return "Lead converted to client and deleted successfully.";
+    }
+
+    /**
+     * Applies {@code status} to every lead in {@code ids} owned by {@code currentUser}
+     * in one transaction. Other ids are skipped. CONVERTED is set-based: one
+     * INSERT ... SELECT into clients and one DELETE, whatever the number of leads.
+     */
+    @Transactional
+    public BulkResult bulkUpdateStatus(List<Long> ids, Lead.LeadStatus status, Users currentUser) {
+        List<Long> requested = ids.stream().distinct().toList();
+        List<LeadState> owned = requested.isEmpty() ? List.of() : leadRepo.lockStatesOwnedBy(requested, currentUser);
+        Set<Long> ownedIds = owned.stream().map(LeadState::id).collect(Collectors.toSet());
+        List<Long> skipped = requested.stream().filter(id -> !ownedIds.contains(id)).toList();
+
+        if (!owned.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            if (status == Lead.LeadStatus.CONVERTED) {
+                convertLeads(owned, currentUser, now);
+            } else {
+                leadRepo.updateStatus(ownedIds, status, now);
+                owned.forEach(l -> events.publishEvent(new LeadChangedEvent(ChangeType.UPDATED, l.id(),
+                        currentUser.getId(), l.status(), status, null, null)));
+            }
+        }
+        return new BulkResult(requested.size(), owned.size(), skipped);
+    }
+
+    /**
+     * Turns the given (already ownership-checked) leads into clients and moves them
+     * to the archive. Tasks pointing at those leads are unlinked first so the delete
+     * is not blocked.
+     *
+     * @param leads the leads' state just before the conversion
+     */
+    private void convertLeads(List<LeadState> leads, Users owner, LocalDateTime now) {
+        List<Long> ids = leads.stream().map(LeadState::id).toList();
+        clientService.createClientsFromLeads(ids, now);
+        archiveService.archiveLeads(ids, now);
+        taskRepo.detachFromLeads(ids, now);
+        leadRepo.deleteAllByIdIn(ids);
+        leads.forEach(l -> events.publishEvent(new LeadChangedEvent(ChangeType.CONVERTED, l.id(),
+                owner.getId(), l.status(), Lead.LeadStatus.CONVERTED, l.details(), null)));
+    }
+
+    private static Long assigneeId(Lead l) {
+        return l.getAssignedTo() != null ? l.getAssignedTo().getId() : null;
     }
 }
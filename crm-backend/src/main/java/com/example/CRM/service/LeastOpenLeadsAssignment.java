@@ -0,0 +1,47 @@
+package com.example.CRM.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Component;
+
+import com.example.CRM.dto.TeamMember;
+
+/**
+ * Gives the lead to the employee with the fewest open leads. Ties go round in
+ * turn, so a burst of leads arriving before the counters catch up (they move
+ * when each lead commits) is still spread out.
+ */
+@Component
+public class LeastOpenLeadsAssignment implements AssignmentStrategy {
+
+    private final AtomicLong start = new AtomicLong();
+
+    @Override
+    public String name() {
+        return "least-open-leads";
+    }
+
+    @Override
+    public TeamMember choose(LeadAssigner.Pool pool, ToLongFunction<Long> openLeads) {
+        return leastLoaded(pool.members(), openLeads, start.getAndIncrement());
+    }
+
+    /** The first employee with the lowest load, scanning from {@code offset} round the list. */
+    static TeamMember leastLoaded(List<TeamMember> members, ToLongFunction<Long> openLeads, long offset) {
+        int n = members.size();
+        int from = Math.floorMod(offset, n);
+        TeamMember best = null;
+        long bestLoad = Long.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            TeamMember m = members.get((from + i) % n);
+            long load = openLeads.applyAsLong(m.id());
+            if (load < bestLoad) {
+                best = m;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.CRM.service;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.ClientChangedEvent;
+import com.example.CRM.event.EmployeeChangedEvent;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.event.TaskChangedEvent;
+
+/**
+ * Version stamps for the list endpoints, one per employee and list plus one per
+ * list for the admin views, bumped by the change events after commit. The list
+ * controllers turn a stamp into an ETag and Last-Modified, so a poll that finds
+ * nothing changed is answered with 304 before any query runs.
+ * <p>
+ * Tags carry a per-process epoch, so they do not survive a restart. Changes made
+ * to the database outside the application are not seen.
+ */
+@Component
+public class ListVersions {
+
+    public enum Kind {
+        LEADS,
+        TASKS,
+        CLIENTS
+    }
+
+    /**
+     * Validators for one list as of now. {@code lastModified} is in epoch millis,
+     * or -1 while the last change is still within the current second.
+     */
+    public record Tag(String etag, long lastModified) {
+    }
+
+    private static final class Stamp {
+        long version;
+        long modifiedAt;
+
+        Stamp(long now) {
+            this.modifiedAt = now;
+        }
+
+        synchronized void bump() {
+            version++;
+            modifiedAt = System.currentTimeMillis();
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long startedAt = System.currentTimeMillis();
+    private final ConcurrentHashMap<Long, Stamp[]> byEmployee = new ConcurrentHashMap<>();
+    private final Stamp[] all = stamps(startedAt);
+
+    // Every view shows employee names, so any change to employees invalidates all tags
+    private final Stamp employees = new Stamp(startedAt);
+
+    public Tag forEmployee(Kind kind, Long employeeId) {
+        return tag("u" + employeeId, kind, byEmployee.computeIfAbsent(employeeId, id -> stamps(startedAt))[kind.ordinal()]);
+    }
+
+    public Tag forAll(Kind kind) {
+        return tag("all", kind, all[kind.ordinal()]);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent e) {
+        employees.bump();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadChanged(LeadChangedEvent e) {
+        bump(Kind.LEADS, e.assigneeId());
+        // Task rows show the related lead's name and company and lose it on conversion or deletion
+        if (e.details() != null || e.type() == ChangeType.CONVERTED || e.type() == ChangeType.DELETED) {
+            bump(Kind.TASKS, e.assigneeId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent e) {
+        bump(Kind.TASKS, e.assigneeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent e) {
+        bump(Kind.CLIENTS, e.assigneeId());
+    }
+
+    private void bump(Kind kind, Long employeeId) {
+        all[kind.ordinal()].bump();
+        if (employeeId != null) {
+            byEmployee.computeIfAbsent(employeeId, id -> stamps(startedAt))[kind.ordinal()].bump();
+        }
+    }
+
+    private Tag tag(String scope, Kind kind, Stamp stamp) {
+        long version;
+        long modifiedAt;
+        synchronized (stamp) {
+            version = stamp.version;
+            modifiedAt = stamp.modifiedAt;
+        }
+        long employeesVersion;
+        synchronized (employees) {
+            employeesVersion = employees.version;
+            modifiedAt = Math.max(modifiedAt, employees.modifiedAt);
+        }
+        // HTTP dates have one-second resolution. A Last-Modified handed out during the
+        // second of the change could hide a second change made in that same second.
+        long lastModified = modifiedAt / 1000 < System.currentTimeMillis() / 1000 ? modifiedAt / 1000 * 1000 : -1;
+        String etag = "W/\"" + epoch + "-" + scope + "-" + kind.name().toLowerCase(Locale.ROOT) + "-" + version
+                + "." + employeesVersion + "\"";
+        return new Tag(etag, lastModified);
+    }
+
+    private static Stamp[] stamps(long now) {
+        Stamp[] s = new Stamp[KINDS.length];
+        for (int i = 0; i < s.length; i++) {
+            s[i] = new Stamp(now);
+        }
+        return s;
+    }
+}
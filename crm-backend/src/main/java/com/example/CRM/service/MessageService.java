@@ -0,0 +1,104 @@
+package com.example.CRM.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.example.CRM.dto.Cursor;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.MessageView;
+import com.example.CRM.event.MessageSentEvent;
+import com.example.CRM.event.MessagesReadEvent;
+import com.example.CRM.model.Message;
+import com.example.CRM.model.Users;
+import com.example.CRM.repository.MessageRepo;
+import com.example.CRM.repository.UserRepo;
+
+@Service
+public class MessageService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    // Newest first, ties broken by id like the index
+    private static final Comparator<MessageView> NEWEST_FIRST = Comparator
+            .comparing(MessageView::sentAt).thenComparing(MessageView::id).reversed();
+
+    @Autowired
+    private MessageRepo messageRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    /**
+     * Stores a message from {@code sender} to {@code receiverId}.
+     *
+     * @throws IllegalArgumentException if the receiver does not exist or is the sender
+     */
+    public MessageView send(Users sender, Long receiverId, String content) {
+        if (receiverId.equals(sender.getId())) {
+            throw new IllegalArgumentException("You cannot message yourself");
+        }
+        if (!userRepo.existsById(receiverId)) {
+            throw new IllegalArgumentException("Receiver not found");
+        }
+        Message m = new Message();
+        m.setSender(sender);
+        m.setReceiver(userRepo.getReferenceById(receiverId));
+        m.setContent(content);
+        m.setTimestamp(LocalDateTime.now());
+        messageRepo.save(m);
+        events.publishEvent(new MessageSentEvent(m.getId(), sender.getId(), receiverId));
+        return new MessageView(m.getId(), sender.getId(), receiverId, content, m.getTimestamp(), null);
+    }
+
+    /**
+     * One page of the conversation between {@code me} and {@code otherId}, newest
+     * first. Reads at most {@code limit + 1} rows from each direction's index and
+     * merges them, so the cost depends on the page size, not the conversation length.
+     */
+    public CursorPage<MessageView> getConversationPage(Users me, Long otherId, String cursor, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        Cursor before = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+        // Messages always have a timestamp; seeking below a null one would match nothing
+        if (before != null && before.createdAt() == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        List<MessageView> rows = new ArrayList<>(2 * size + 2);
+        rows.addAll(direction(me.getId(), otherId, before, size + 1));
+        rows.addAll(direction(otherId, me.getId(), before, size + 1));
+        rows.sort(NEWEST_FIRST);
+
+        boolean hasMore = rows.size() > size;
+        List<MessageView> items = hasMore ? List.copyOf(rows.subList(0, size)) : rows;
+        String next = hasMore ? Cursor.of(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items, next, hasMore);
+    }
+
+    /**
+     * Marks every message {@code otherId} sent to {@code me} as read.
+     *
+     * @return how many were unread
+     */
+    public int markConversationRead(Users me, Long otherId) {
+        int count = messageRepo.markRead(otherId, me.getId(), LocalDateTime.now());
+        events.publishEvent(new MessagesReadEvent(me.getId(), otherId, count));
+        return count;
+    }
+
+    private List<MessageView> direction(Long senderId, Long receiverId, Cursor before, int n) {
+        return before == null
+                ? messageRepo.findLatest(senderId, receiverId, Limit.of(n))
+                : messageRepo.findBefore(senderId, receiverId, before.createdAt(), before.id(), Limit.of(n));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.CRM.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.dto.TeamMember;
+import com.example.CRM.event.EmployeeChangedEvent;
+import com.example.CRM.repository.UserRepo;
+
+/**
+ * In-memory copy of the reporting hierarchy ({@code Users.manager}), loaded
+ * with one query over the users table. A manager's team is their whole
+ * subtree, every level down, worked out once per snapshot and kept until the
+ * next change, so team endpoints never walk {@code teamMembers} lazily.
+ * <p>
+ * Saving an employee ({@link EmployeeChangedEvent}) invalidates it and the next lookup reloads.
+ * It is also reloaded every {@code crm.org.refresh-interval} to pick up
+ * changes made outside the application.
+ */
+@Component
+public class OrgTree {
+
+    /** A manager's subtree, breadth first, without the manager. */
+    public record Team(List<TeamMember> members, Set<Long> ids) {
+
+        public boolean contains(Long employeeId) {
+            return employeeId != null && ids.contains(employeeId);
+        }
+    }
+
+    private record Snapshot(Map<Long, TeamMember> employees, List<TeamMember> roster,
+            Map<Long, List<Long>> reports, Map<Long, Team> teams) {
+    }
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private volatile Snapshot snapshot;
+    // Bumped on every invalidation so a load that raced with one is not kept
+    private final AtomicLong generation = new AtomicLong();
+    // Not synchronized: the load runs a query, which would pin a virtual thread to its carrier
+    private final ReentrantLock loading = new ReentrantLock();
+
+    public Team team(Long managerId) {
+        Snapshot s = current();
+        return s.teams().computeIfAbsent(managerId, id -> walk(s, id));
+    }
+
+    /** Every employee, ordered by id. */
+    public List<TeamMember> employees() {
+        return current().roster();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent e) {
+        invalidate();
+    }
+
+    @Scheduled(fixedDelayString = "${crm.org.refresh-interval:PT30M}")
+    public void refresh() {
+        long gen = generation.get();
+        Snapshot s = load();
+        if (generation.get() == gen) {
+            snapshot = s;
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null) {
+            return s;
+        }
+        loading.lock();
+        try {
+            s = snapshot;
+            if (s == null) {
+                long gen = generation.get();
+                s = load();
+                if (generation.get() == gen) {
+                    snapshot = s;
+                }
+            }
+            return s;
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        Map<Long, TeamMember> employees = new HashMap<>();
+        Map<Long, List<Long>> reports = new HashMap<>();
+        for (Object[] r : userRepo.findDirectoryRows()) {
+            Long id = (Long) r[0];
+            Long managerId = (Long) r[5];
+            employees.put(id, new TeamMember(id, (String) r[1], (String) r[2], (String) r[3], (String) r[4],
+                    managerId, 0));
+            if (managerId != null) {
+                reports.computeIfAbsent(managerId, m -> new ArrayList<>()).add(id);
+            }
+        }
+        List<TeamMember> roster = employees.values().stream()
+                .sorted(Comparator.comparing(TeamMember::id))
+                .toList();
+        return new Snapshot(employees, roster, reports, new ConcurrentHashMap<>());
+    }
+
+    /** Breadth-first walk below {@code managerId}; a bad manager chain cannot loop it. */
+    private static Team walk(Snapshot s, Long managerId) {
+        List<TeamMember> members = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        ArrayDeque<Long> queue = new ArrayDeque<>();
+        queue.add(managerId);
+        int depth = 0;
+        while (!queue.isEmpty()) {
+            depth++;
+            for (int n = queue.size(); n > 0; n--) {
+                for (Long id : s.reports().getOrDefault(queue.poll(), List.of())) {
+                    if (!id.equals(managerId) && ids.add(id)) {
+                        TeamMember e = s.employees().get(id);
+                        members.add(new TeamMember(e.id(), e.name(), e.role(), e.position(), e.department(),
+                                e.managerId(), depth));
+                        queue.add(id);
+                    }
+                }
+            }
+        }
+        return new Team(Collections.unmodifiableList(members), Collections.unmodifiableSet(ids));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.CRM.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.CRM.dto.ClientView;
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.LeadView;
+import com.example.CRM.dto.ListQuery;
+import com.example.CRM.dto.TaskView;
+import com.example.CRM.dto.UserOverview;
+
+/**
+ * Composite reads. The lead, task and client pages are independent, so they
+ * go through {@link FanOut}: in virtual-thread mode they are fetched
+ * concurrently and the response takes about as long as the slowest query
+ * instead of the sum of all three.
+ */
+@Service
+public class OverviewService {
+
+    @Autowired
+    private FanOut fanOut;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private PipelineCounters pipelineCounters;
+
+    public UserOverview getOverview(Long userId, int limit) {
+        ListQuery query = new ListQuery(null, limit, null, userId, null, null, null);
+        try (FanOut.Scope scope = fanOut.open()) {
+            Supplier<CursorPage<LeadView>> leads = scope.fork(() -> leadService.getLeadPage(query));
+            Supplier<CursorPage<TaskView>> tasks = scope.fork(() -> taskService.getTaskPage(query));
+            Supplier<CursorPage<ClientView>> clients = scope.fork(() -> clientService.getClientPage(query));
+            scope.join();
+            return new UserOverview(leads.get(), tasks.get(), clients.get(), pipelineCounters.forEmployee(userId));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.CRM.service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import com.example.CRM.dto.PinnedSite;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Pinning diagnostics for virtual-thread mode. Listens in-process to the JFR
+ * {@code jdk.VirtualThreadPinned} event, raised when a virtual thread blocks
+ * for longer than {@code crm.vt.pinning-threshold} while it cannot unmount
+ * (inside {@code synchronized} or a native frame) and so holds its carrier.
+ * Sites are grouped by their top {@value #FRAMES} frames below the scheduler's
+ * own; the first occurrence of each is logged. Off with {@code crm.vt.pinning-diagnostics=false}.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "crm.vt.pinning-diagnostics", havingValue = "true", matchIfMissing = true)
+public class PinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PinningMonitor.class);
+
+    private static final int FRAMES = 8;
+    private static final int MAX_SITES = 200;
+
+    private static final class Site {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder totalMillis = new DoubleAdder();
+        final DoubleAccumulator maxMillis = new DoubleAccumulator(Math::max, 0);
+    }
+
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public PinningMonitor(@Value("${crm.vt.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::record);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    /** Known sites, most frequent first. */
+    public List<PinnedSite> sites() {
+        return sites.entrySet().stream()
+                .map(e -> new PinnedSite(e.getKey(), e.getValue().count.sum(),
+                        e.getValue().totalMillis.sum(), e.getValue().maxMillis.get()))
+                .sorted(Comparator.comparingLong(PinnedSite::count).reversed())
+                .toList();
+    }
+
+    private void record(RecordedEvent e) {
+        String stack = e.getStackTrace() == null ? "(no stack)"
+                : e.getStackTrace().getFrames().stream()
+                        .dropWhile(PinningMonitor::isParking)
+                        .limit(FRAMES)
+                        .map(PinningMonitor::frame)
+                        .collect(Collectors.joining(" <- "));
+        Site site = sites.get(stack);
+        if (site == null) {
+            if (sites.size() >= MAX_SITES) {
+                return;
+            }
+            site = sites.computeIfAbsent(stack, s -> new Site());
+            if (site.count.sum() == 0) {
+                log.warn("Virtual thread pinned for {} ms at {}", e.getDuration().toMillis(), stack);
+            }
+        }
+        double millis = e.getDuration().toNanos() / 1e6;
+        site.count.increment();
+        site.totalMillis.add(millis);
+        site.maxMillis.accumulate(millis);
+    }
+
+    /** The scheduler's own frames on top of every pinned stack; they say nothing about the site. */
+    private static boolean isParking(RecordedFrame f) {
+        String type = f.getMethod().getType().getName();
+        return type.equals("java.lang.VirtualThread") || type.startsWith("jdk.internal.");
+    }
+
+    private static String frame(RecordedFrame f) {
+        return f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+    }
+}
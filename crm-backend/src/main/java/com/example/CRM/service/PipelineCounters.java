@@ -0,0 +1,238 @@
+package com.example.CRM.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.dto.PipelineCounts;
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.ClientChangedEvent;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.event.TaskChangedEvent;
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Task;
+import com.example.CRM.repository.ClientRepo;
+import com.example.CRM.repository.LeadRepo;
+import com.example.CRM.repository.TaskRepo;
+
+/**
+ * In-memory pipeline counts per employee and status (leads, tasks) plus clients
+ * per employee, so wallboards can poll without touching the database.
+ * <p>
+ * Counters move on the change events published by the services once their
+ * transaction commits. A periodic reconcile (also run at startup) recounts from
+ * the database and corrects any drift, e.g. from writes made outside the app.
+ */
+@Component
+public class PipelineCounters {
+
+    private static final Lead.LeadStatus[] LEAD_STATUSES = Lead.LeadStatus.values();
+    private static final Task.TaskStatus[] TASK_STATUSES = Task.TaskStatus.values();
+
+    /** One set of counters; LongAdder keeps concurrent increments cheap. */
+    private static final class Row {
+        final LongAdder[] leads = adders(LEAD_STATUSES.length);
+        final LongAdder[] tasks = adders(TASK_STATUSES.length);
+        final LongAdder clients = new LongAdder();
+
+        private static LongAdder[] adders(int n) {
+            LongAdder[] a = new LongAdder[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = new LongAdder();
+            }
+            return a;
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Row> byEmployee = new ConcurrentHashMap<>();
+
+    // Kept alongside the per-employee rows so the admin totals are O(1) as well
+    private final Row total = new Row();
+
+    @Autowired
+    private LeadRepo leadRepo;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    public PipelineCounts forEmployee(Long employeeId) {
+        Row row = byEmployee.get(employeeId);
+        return row != null ? toCounts("user", row) : toCounts("user", new Row());
+    }
+
+    /** Sum of the employees' counters, e.g. a manager's team. */
+    public PipelineCounts forEmployees(String scope, Collection<Long> employeeIds) {
+        Row sum = new Row();
+        for (Long id : employeeIds) {
+            Row row = byEmployee.get(id);
+            if (row != null) {
+                add(row, sum);
+            }
+        }
+        return toCounts(scope, sum);
+    }
+
+    /** Leads the employee is still working on: every status but LOST and CONVERTED. */
+    public long openLeads(Long employeeId) {
+        Row row = byEmployee.get(employeeId);
+        if (row == null) {
+            return 0;
+        }
+        long open = 0;
+        for (Lead.LeadStatus s : LEAD_STATUSES) {
+            if (s != Lead.LeadStatus.LOST && s != Lead.LeadStatus.CONVERTED) {
+                open += row.leads[s.ordinal()].sum();
+            }
+        }
+        return open;
+    }
+
+    public PipelineCounts overall() {
+        return toCounts("all", total);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadChanged(LeadChangedEvent e) {
+        // before/after are null when the status did not change
+        if (e.type() == ChangeType.UPDATED && e.before() == e.after()) {
+            return;
+        }
+        if (e.before() != null) {
+            add(e.assigneeId(), r -> r.leads[e.before().ordinal()], -1);
+        }
+        // A converted lead is removed; the client that replaces it comes as a ClientChangedEvent
+        if (e.type() != ChangeType.CONVERTED && e.after() != null) {
+            add(e.assigneeId(), r -> r.leads[e.after().ordinal()], 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent e) {
+        if (e.type() == ChangeType.UPDATED && e.before() == e.after()) {
+            return;
+        }
+        if (e.before() != null) {
+            add(e.assigneeId(), r -> r.tasks[e.before().ordinal()], -1);
+        }
+        // Completed tasks are deleted, so they are not counted under COMPLETED
+        if (e.type() != ChangeType.COMPLETED && e.after() != null) {
+            add(e.assigneeId(), r -> r.tasks[e.after().ordinal()], 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent e) {
+        if (e.type() == ChangeType.CREATED) {
+            add(e.assigneeId(), r -> r.clients, 1);
+        } else if (e.type() == ChangeType.DELETED) {
+            add(e.assigneeId(), r -> r.clients, -1);
+        }
+    }
+
+    /**
+     * Recounts everything from the database and overwrites the counters.
+     * Changes committed while the recount runs may be off until the next pass.
+     */
+    @Scheduled(fixedDelayString = "${crm.counters.reconcile-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Map<Long, Row> fresh = new HashMap<>();
+        Row freshTotal = new Row();
+
+        for (Object[] r : leadRepo.countByAssigneeAndStatus()) {
+            if (r[1] == null) {
+                continue;
+            }
+            int slot = ((Lead.LeadStatus) r[1]).ordinal();
+            long count = ((Number) r[2]).longValue();
+            freshTotal.leads[slot].add(count);
+            if (r[0] != null) {
+                fresh.computeIfAbsent((Long) r[0], id -> new Row()).leads[slot].add(count);
+            }
+        }
+        for (Object[] r : taskRepo.countByAssigneeAndStatus()) {
+            if (r[1] == null) {
+                continue;
+            }
+            int slot = ((Task.TaskStatus) r[1]).ordinal();
+            long count = ((Number) r[2]).longValue();
+            freshTotal.tasks[slot].add(count);
+            if (r[0] != null) {
+                fresh.computeIfAbsent((Long) r[0], id -> new Row()).tasks[slot].add(count);
+            }
+        }
+        for (Object[] r : clientRepo.countByAssignee()) {
+            long count = ((Number) r[1]).longValue();
+            freshTotal.clients.add(count);
+            if (r[0] != null) {
+                fresh.computeIfAbsent((Long) r[0], id -> new Row()).clients.add(count);
+            }
+        }
+
+        // Adjust in place rather than swapping rows, so concurrent increments are not dropped
+        copy(freshTotal, total);
+        for (Long id : List.copyOf(byEmployee.keySet())) {
+            if (!fresh.containsKey(id)) {
+                copy(new Row(), byEmployee.get(id));
+            }
+        }
+        fresh.forEach((id, row) -> copy(row, byEmployee.computeIfAbsent(id, k -> new Row())));
+    }
+
+    private void add(Long employeeId, Function<Row, LongAdder> slot, long delta) {
+        slot.apply(total).add(delta);
+        if (employeeId != null) {
+            slot.apply(byEmployee.computeIfAbsent(employeeId, id -> new Row())).add(delta);
+        }
+    }
+
+    private static void copy(Row from, Row to) {
+        for (int i = 0; i < LEAD_STATUSES.length; i++) {
+            set(to.leads[i], from.leads[i].sum());
+        }
+        for (int i = 0; i < TASK_STATUSES.length; i++) {
+            set(to.tasks[i], from.tasks[i].sum());
+        }
+        set(to.clients, from.clients.sum());
+    }
+
+    private static void add(Row from, Row to) {
+        for (int i = 0; i < LEAD_STATUSES.length; i++) {
+            to.leads[i].add(from.leads[i].sum());
+        }
+        for (int i = 0; i < TASK_STATUSES.length; i++) {
+            to.tasks[i].add(from.tasks[i].sum());
+        }
+        to.clients.add(from.clients.sum());
+    }
+
+    private static void set(LongAdder adder, long value) {
+        adder.add(value - adder.sum());
+    }
+
+    private static PipelineCounts toCounts(String scope, Row row) {
+        Map<String, Long> leads = new LinkedHashMap<>();
+        for (Lead.LeadStatus s : LEAD_STATUSES) {
+            leads.put(s.name(), row.leads[s.ordinal()].sum());
+        }
+        Map<String, Long> tasks = new LinkedHashMap<>();
+        for (Task.TaskStatus s : TASK_STATUSES) {
+            tasks.put(s.name(), row.tasks[s.ordinal()].sum());
+        }
+        return new PipelineCounts(scope, leads, tasks, row.clients.sum());
+    }
+}
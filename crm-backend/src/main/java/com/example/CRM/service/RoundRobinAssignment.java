@@ -0,0 +1,29 @@
+package com.example.CRM.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Component;
+
+import com.example.CRM.dto.TeamMember;
+
+/**
+ * Hands leads to each employee in turn, whatever their load.
+ */
+@Component
+public class RoundRobinAssignment implements AssignmentStrategy {
+
+    private final AtomicLong next = new AtomicLong();
+
+    @Override
+    public String name() {
+        return "round-robin";
+    }
+
+    @Override
+    public TeamMember choose(LeadAssigner.Pool pool, ToLongFunction<Long> openLeads) {
+        List<TeamMember> members = pool.members();
+        return members.get(Math.floorMod(next.getAndIncrement(), members.size()));
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.CRM.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.dto.SearchHit;
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.ClientChangedEvent;
+import com.example.CRM.event.ContactDetails;
+import com.example.CRM.event.LeadChangedEvent;
+import com.example.CRM.repository.ClientRepo;
+import com.example.CRM.repository.LeadRepo;
+
+/**
+ * In-memory trigram index over the name, email and company of every lead and
+ * client. Built from the database at startup, then kept current from the change
+ * events, so searches never touch the database.
+ * <p>
+ * Query words of three or more characters match anywhere inside a word; shorter
+ * ones match word prefixes. All words must match. Hits are ranked by where they
+ * matched (name over company over email) and how (whole word over prefix over infix).
+ */
+@Component
+public class SearchIndex {
+
+    public enum Kind {
+        LEAD,
+        CLIENT
+    }
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int COMPANY_WEIGHT = 2;
+    private static final int EMAIL_WEIGHT = 1;
+
+    /** One indexed lead or client, with its fields already split into lower-case words. */
+    private record Doc(Kind kind, long id, Long ownerId, String name, String email, String company,
+            List<String> nameWords, List<String> emailWords, List<String> companyWords) {
+
+        Doc(Kind kind, long id, Long ownerId, String name, String email, String company) {
+            this(kind, id, ownerId, name, email, company, words(name), words(email), words(company));
+        }
+
+        long key() {
+            return SearchIndex.key(kind, id);
+        }
+    }
+
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    private LeadRepo leadRepo;
+
+    @Autowired
+    private ClientRepo clientRepo;
+
+    /**
+     * Loads every lead and client from scratch. Holds the write lock throughout, so
+     * change events that arrive meanwhile wait and are applied on top of the fresh data.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            try (Stream<Object[]> rows = leadRepo.streamContactRows()) {
+                rows.forEach(r -> add(toDoc(Kind.LEAD, r)));
+            }
+            try (Stream<Object[]> rows = clientRepo.streamContactRows()) {
+                rows.forEach(r -> add(toDoc(Kind.CLIENT, r)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadChanged(LeadChangedEvent e) {
+        if (e.type() == ChangeType.DELETED || e.type() == ChangeType.CONVERTED) {
+            remove(Kind.LEAD, e.leadId());
+        } else if (e.details() != null) {
+            put(new Doc(Kind.LEAD, e.leadId(), e.assigneeId(),
+                    e.details().name(), e.details().email(), e.details().company()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent e) {
+        if (e.type() == ChangeType.DELETED) {
+            remove(Kind.CLIENT, e.clientId());
+        } else if (e.details() != null) {
+            ContactDetails d = e.details();
+            put(new Doc(Kind.CLIENT, e.clientId(), e.assigneeId(), d.name(), d.email(), d.company()));
+        }
+    }
+
+    /**
+     * Best {@code limit} matches for {@code query}.
+     *
+     * @param kind    only leads or only clients; null for both
+     * @param ownerId only records assigned to this employee; null for everyone's
+     */
+    public List<SearchHit> search(String query, Kind kind, Long ownerId, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> grams = new HashSet<>();
+        words.forEach(w -> queryGrams(w, grams));
+
+        Comparator<SearchHit> rank = Comparator.comparingInt(SearchHit::score)
+                .thenComparing(SearchHit::id);
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(rank);
+
+        lock.readLock().lock();
+        try {
+            // Intersect, smallest posting list first
+            List<Set<Long>> lists = new ArrayList<>(grams.size());
+            for (String g : grams) {
+                Set<Long> p = postings.get(g);
+                if (p == null) {
+                    return List.of();
+                }
+                lists.add(p);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            for (Long key : lists.get(0)) {
+                if (!inAll(key, lists)) {
+                    continue;
+                }
+                Doc doc = docs.get(key);
+                if ((kind != null && doc.kind() != kind)
+                        || (ownerId != null && !ownerId.equals(doc.ownerId()))) {
+                    continue;
+                }
+                int score = score(doc, words);
+                if (score == 0) {
+                    continue; // trigram false positive
+                }
+                top.add(new SearchHit(doc.kind() == Kind.LEAD ? "lead" : "client", doc.id(),
+                        doc.name(), doc.email(), doc.company(), score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(rank.reversed());
+        return hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Doc doc) {
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.remove(doc.key());
+            if (old != null) {
+                unindex(old);
+            }
+            add(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Kind kind, long id) {
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.remove(key(kind, id));
+            if (old != null) {
+                unindex(old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Caller holds the write lock. */
+    private void add(Doc doc) {
+        docs.put(doc.key(), doc);
+        for (String g : docGrams(doc)) {
+            postings.computeIfAbsent(g, k -> new HashSet<>()).add(doc.key());
+        }
+    }
+
+    /** Caller holds the write lock. */
+    private void unindex(Doc doc) {
+        for (String g : docGrams(doc)) {
+            Set<Long> p = postings.get(g);
+            if (p != null) {
+                p.remove(doc.key());
+                if (p.isEmpty()) {
+                    postings.remove(g);
+                }
+            }
+        }
+    }
+
+    private static boolean inAll(Long key, List<Set<Long>> lists) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Sum over query words of the best field match; 0 if any word does not match. */
+    private static int score(Doc doc, List<String> queryWords) {
+        int total = 0;
+        for (String q : queryWords) {
+            int best = Math.max(NAME_WEIGHT * match(doc.nameWords(), q),
+                    Math.max(COMPANY_WEIGHT * match(doc.companyWords(), q), EMAIL_WEIGHT * match(doc.emailWords(), q)));
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /** 3 = whole word, 2 = word prefix, 1 = inside a word (3+ character queries only), 0 = no match. */
+    private static int match(List<String> fieldWords, String q) {
+        int best = 0;
+        for (String w : fieldWords) {
+            if (w.equals(q)) {
+                return 3;
+            }
+            if (w.startsWith(q)) {
+                best = 2;
+            } else if (best == 0 && q.length() >= 3 && w.contains(q)) {
+                best = 1;
+            }
+        }
+        return best;
+    }
+
+    private static Set<String> docGrams(Doc doc) {
+        Set<String> grams = new HashSet<>();
+        for (List<String> field : List.of(doc.nameWords(), doc.emailWords(), doc.companyWords())) {
+            for (String w : field) {
+                String padded = " " + w + " ";
+                grams.add(padded.substring(0, 2)); // single-letter prefix queries
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    grams.add(padded.substring(i, i + 3));
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static void queryGrams(String w, Set<String> out) {
+        if (w.length() < 3) {
+            out.add(" " + w); // prefix: " a" or " ab"
+            return;
+        }
+        for (int i = 0; i + 3 <= w.length(); i++) {
+            out.add(w.substring(i, i + 3));
+        }
+    }
+
+    /** Lower-cased runs of letters and digits; emails split at '.', '@', etc. */
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> out = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                out.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return List.copyOf(out);
+    }
+
+    private static Doc toDoc(Kind kind, Object[] row) {
+        return new Doc(kind, (Long) row[0], (Long) row[1], (String) row[2], (String) row[3], (String) row[5]);
+    }
+
+    private static long key(Kind kind, long id) {
+        return (id << 1) | kind.ordinal();
+    }
+}
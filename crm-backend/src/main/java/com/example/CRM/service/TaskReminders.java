@@ -0,0 +1,164 @@
+package com.example.CRM.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.TaskChangedEvent;
+import com.example.CRM.event.TaskReminderEvent;
+import com.example.CRM.repository.TaskRepo;
+
+/**
+ * Due-date reminders. Tasks falling due within {@code crm.reminders.horizon} sit
+ * in a {@link TimingWheel}; each gets a DUE_SOON reminder
+ * {@code crm.reminders.lead-time} before its due date and an OVERDUE one at it,
+ * published as {@link TaskReminderEvent}s.
+ * <p>
+ * The window is extended every {@code crm.reminders.load-interval} by one
+ * indexed range query over the due dates it does not cover yet, so no query
+ * ever scans all tasks. Task events keep the wheel current in between. Before
+ * reminders go out, their tasks are read back in one query and reminders for
+ * tasks that are gone or were rescheduled are dropped.
+ * <p>
+ * Tasks that fell due while the application was down get no reminder.
+ */
+@Component
+public class TaskReminders {
+
+    private record Pending(TaskReminderEvent.Kind kind, Long taskId, LocalDateTime dueDate) {
+    }
+
+    private static final int READ_BACK_CHUNK = 1000;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    private final Duration leadTime;
+    private final Duration horizon;
+
+    // Guarded by this
+    private final TimingWheel<Long, Pending> wheel;
+    // Tasks due before this are in the wheel; null until the first load
+    private LocalDateTime windowEnd;
+
+    public TaskReminders(@Value("${crm.reminders.tick:PT1S}") Duration tick,
+            @Value("${crm.reminders.lead-time:PT15M}") Duration leadTime,
+            @Value("${crm.reminders.horizon:PT6H}") Duration horizon) {
+        this.leadTime = leadTime;
+        this.horizon = horizon;
+        this.wheel = new TimingWheel<>(tick.toMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * Extends the window to {@code now + horizon}, loading only the due dates it
+     * did not cover yet. The first run (at startup) loads from now.
+     */
+    @Scheduled(fixedDelayString = "${crm.reminders.load-interval:PT10M}")
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime to = now.plus(horizon);
+        LocalDateTime from;
+        synchronized (this) {
+            from = windowEnd != null ? windowEnd : now;
+            if (!to.isAfter(from)) {
+                return;
+            }
+            // From here on events keep these due dates current, so rows read below never override them
+            windowEnd = to;
+        }
+        List<Object[]> rows = taskRepo.findDueBetween(from, to);
+        synchronized (this) {
+            for (Object[] r : rows) {
+                track((Long) r[0], (LocalDateTime) r[2], now, true);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent e) {
+        if (e.type() == ChangeType.DELETED || e.type() == ChangeType.COMPLETED) {
+            synchronized (this) {
+                wheel.cancel(e.taskId());
+            }
+        } else if (e.dueDate() != null) {
+            synchronized (this) {
+                wheel.cancel(e.taskId());
+                if (windowEnd != null && e.dueDate().isBefore(windowEnd)) {
+                    track(e.taskId(), e.dueDate(), LocalDateTime.now(), false);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${crm.reminders.tick:PT1S}")
+    public void tick() {
+        List<Pending> due;
+        synchronized (this) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<Long, Object[]> current = new HashMap<>();
+        for (int i = 0; i < due.size(); i += READ_BACK_CHUNK) {
+            List<Long> ids = due.subList(i, Math.min(i + READ_BACK_CHUNK, due.size())).stream()
+                    .map(Pending::taskId).toList();
+            taskRepo.findReminderRows(ids).forEach(r -> current.put((Long) r[0], r));
+        }
+        for (Pending p : due) {
+            Object[] row = current.get(p.taskId());
+            if (row == null || !sameSecond((LocalDateTime) row[3], p.dueDate())) {
+                continue;
+            }
+            events.publishEvent(new TaskReminderEvent(p.kind(), p.taskId(), (Long) row[1], (String) row[2],
+                    p.dueDate()));
+            if (p.kind() == TaskReminderEvent.Kind.DUE_SOON) {
+                synchronized (this) {
+                    wheel.scheduleIfAbsent(p.taskId(),
+                            new Pending(TaskReminderEvent.Kind.OVERDUE, p.taskId(), p.dueDate()), millis(p.dueDate()));
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    /** The next reminder of a task due at {@code dueDate}: DUE_SOON unless that time has passed. */
+    private void track(Long taskId, LocalDateTime dueDate, LocalDateTime now, boolean ifAbsent) {
+        LocalDateTime remindAt = dueDate.minus(leadTime);
+        Pending p = remindAt.isAfter(now)
+                ? new Pending(TaskReminderEvent.Kind.DUE_SOON, taskId, dueDate)
+                : new Pending(TaskReminderEvent.Kind.OVERDUE, taskId, dueDate);
+        long at = millis(p.kind() == TaskReminderEvent.Kind.DUE_SOON ? remindAt : dueDate);
+        if (ifAbsent) {
+            wheel.scheduleIfAbsent(taskId, p, at);
+        } else {
+            wheel.schedule(taskId, p, at);
+        }
+    }
+
+    private static long millis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static boolean sameSecond(LocalDateTime a, LocalDateTime b) {
+        return a != null && a.truncatedTo(ChronoUnit.SECONDS).equals(b.truncatedTo(ChronoUnit.SECONDS));
+    }
+}
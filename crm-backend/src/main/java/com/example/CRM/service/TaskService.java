@@ -1,15 +1,30 @@
 package com.example.CRM.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-
-import com.example.CRM.model.Lead;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.CRM.dto.CursorPage;
+import com.example.CRM.dto.DeltaPage;
+import com.example.CRM.dto.ListQuery;
+import com.example.CRM.dto.TaskView;
+import com.example.CRM.event.ChangeType;
+import com.example.CRM.event.TaskChangedEvent;
 import com.example.CRM.model.Task;
+import com.example.CRM.model.Tombstone;
 import com.example.CRM.model.Users;
+import com.example.CRM.repository.Keyset;
 import com.example.CRM.repository.TaskRepo;
+import com.example.CRM.repository.Views;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class TaskService {
@@ -20,6 +35,18 @@ public class TaskService {
     @Autowired
     private LeadService leadService;
 
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private DeltaSync deltaSync;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Creates a new task assigned to logged-in user.
      */
@@ -39,81 +66,103 @@ public class TaskService {
             return "Due date cannot be in the past.";
         }
 
-        // Fetch leads assigned to this logged-in user
-        List<Lead> leads = leadService.getLeadsByAssignedTo(loggedInUser);
-        if (leads.isEmpty()) {
-            return "No leads found for the assigned user";
-        }
-
-        // Check if provided lead is one of the logged-in user's leads
-        boolean leadFound = false;
-        for (Lead lead : leads) {
-            if (t.getRelatedLead() != null && t.getRelatedLead().getId().equals(lead.getId())) {
-                t.setRelatedLead(lead); // attach full lead
-                leadFound = true;
-                break;
-            }
-        }
-
-        if (!leadFound) {
+        // Check the related lead belongs to the logged-in user (single indexed probe)
+        Long leadId = t.getRelatedLead() != null ? t.getRelatedLead().getId() : null;
+        if (leadId == null || !leadService.isLeadOwnedBy(leadId, loggedInUser)) {
             return "Related lead not found for the logged-in user";
         }
+        t.setRelatedLead(leadService.getLeadReference(leadId));
 
         t.setCreatedAt(LocalDateTime.now());
         t.setUpdatedAt(LocalDateTime.now());
         obj.save(t);
+        events.publishEvent(new TaskChangedEvent(ChangeType.CREATED, t.getId(), loggedInUser.getId(),
+                null, t.getStatus(), t.getDueDate(), leadId));
         return "The task was created successfully.";
     }
 
     /**
      * Get tasks assigned to a user.
      */
-    public List<Task> getTasksByAssignedTo(Users u) {
-        return obj.findByAssignedTo(u);
+    public List<TaskView> getTasksByAssignedTo(Users u) {
+        return obj.findViewsByAssignedTo(u);
+    }
+
+    /**
+     * The user's tasks changed or removed after {@code since} (see {@link DeltaSync}).
+     * Renaming or converting a lead counts as a change to its tasks.
+     */
+    public DeltaPage<TaskView> getTaskChanges(Users u, LocalDateTime since) {
+        return deltaSync.delta(Tombstone.EntityType.TASK, u.getId(), since,
+                s -> obj.findViewsByAssignedToUpdatedAfter(u, s), () -> obj.findViewsByAssignedTo(u));
+    }
+
+    /**
+     * One keyset page of tasks, newest first unless {@code sort=asc}.
+     */
+    public CursorPage<TaskView> getTaskPage(ListQuery query) {
+        return Keyset.page(entityManager, Task.class, query, query.status(Task.TaskStatus.class),
+                TaskView.class, Views::task);
+    }
+
+    /**
+     * Same as {@link #getTaskPage(ListQuery)} across a set of employees, e.g. a manager's team.
+     */
+    public CursorPage<TaskView> getTaskPage(ListQuery query, Collection<Long> assigneeIds) {
+        return Keyset.page(entityManager, Task.class, query, assigneeIds, query.status(Task.TaskStatus.class),
+                TaskView.class, Views::task);
     }
 
     public void deleteTask(Task t) {
         obj.delete(t);
+        events.publishEvent(new TaskChangedEvent(ChangeType.DELETED, t.getId(),
+                t.getAssignedTo() != null ? t.getAssignedTo().getId() : null, t.getStatus(), null, null,
+                t.getRelatedLead() != null ? t.getRelatedLead().getId() : null));
     }
 
   
     /**
-     * Updates a task (partial update). Deletes if status is COMPLETED.
+     * Updates a task (partial update). If status is COMPLETED, moves it to the archive.
+     * Either way it is one conditional statement on the task's row, preceded by a
+     * locked status read when the status changes.
      */
+    @Transactional
     public String updateTask(Task updatedTask, Users loggedInUser) {
-        List<Task> tasks = obj.findByAssignedTo(loggedInUser);
-
-        for (Task task : tasks) {
-            if (task.getId().equals(updatedTask.getId())) {
-                // Delete if completed
-                if (updatedTask.getStatus() == Task.TaskStatus.COMPLETED) {
-                    obj.delete(task);
-                    return "The task was completed and deleted successfully.";
-                }
-
-                // Partial updates
-                if (updatedTask.getTitle() != null) {
-                    task.setTitle(updatedTask.getTitle());
-                }
-                if (updatedTask.getDescription() != null) {
-                    task.setDescription(updatedTask.getDescription());
-                }
-                if (updatedTask.getStatus() != null) {
-                    task.setStatus(updatedTask.getStatus());
-                }
-                if (updatedTask.getDueDate() != null) {
-                    if (updatedTask.getDueDate().isBefore(LocalDateTime.now())) {
-                        return "Due date cannot be in the past.";
-                    }
-                    task.setDueDate(updatedTask.getDueDate());
-                }
-
-                task.setUpdatedAt(LocalDateTime.now());
-                obj.save(task);
-                return "The task was updated successfully.";
+        Long id = updatedTask.getId();
+
+        // The previous status is only needed (and read) when the status changes
+        Task.TaskStatus before = null;
+        if (updatedTask.getStatus() != null) {
+            Optional<Task.TaskStatus> current = obj.lockStatusForOwner(id, loggedInUser);
+            if (current.isEmpty()) {
+                return "Task not found or not assigned to you.";
             }
+            before = current.get();
+        }
+
+        // Archive if completed
+        if (updatedTask.getStatus() == Task.TaskStatus.COMPLETED) {
+            archiveService.archiveTask(id, loggedInUser, LocalDateTime.now());
+            obj.deleteForOwner(id, loggedInUser);
+            events.publishEvent(new TaskChangedEvent(ChangeType.COMPLETED, id, loggedInUser.getId(),
+                    before, Task.TaskStatus.COMPLETED, null, null));
+            return "The task was completed and deleted successfully.";
         }
 
-        return "Task not found or not assigned to you.";
+        LocalDateTime now = LocalDateTime.now();
+        if (updatedTask.getDueDate() != null && updatedTask.getDueDate().isBefore(now)) {
+            return "Due date cannot be in the past.";
+        }
+
+        // Partial updates: null fields are left unchanged
+        int updated = obj.patchForOwner(id, loggedInUser,
+                updatedTask.getTitle(), updatedTask.getDescription(),
+                updatedTask.getStatus(), updatedTask.getDueDate(), now);
+        if (updated == 0) {
+            return "Task not found or not assigned to you.";
+        }
+        events.publishEvent(new TaskChangedEvent(ChangeType.UPDATED, id, loggedInUser.getId(),
+                before, updatedTask.getStatus(), updatedTask.getDueDate(), null));
+        return "The task was updated successfully.";
     }
 }
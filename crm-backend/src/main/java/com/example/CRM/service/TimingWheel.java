@@ -0,0 +1,161 @@
+package com.example.CRM.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: {@value #LEVELS} levels of {@value #SLOTS} slots,
+ * level {@code i} slots being {@code SLOTS^i} ticks wide. Scheduling and
+ * cancelling are O(1) whatever the number of timers; advancing costs one slot
+ * per tick plus moving each timer down a level at most {@code LEVELS - 1}
+ * times. Deadlines beyond the top level are parked in its farthest slot and
+ * re-filed when it comes round.
+ * <p>
+ * One timer per key; scheduling a key again replaces its timer. Not thread-safe.
+ */
+final class TimingWheel<K, V> {
+
+    static final int SLOTS = 64;
+    static final int LEVELS = 4;
+    private static final int SHIFT = 6; // log2(SLOTS)
+    private static final long MASK = SLOTS - 1;
+    private static final long MAX_DELTA = (1L << (SHIFT * LEVELS)) - 1;
+
+    private static final class Timer<K, V> {
+        final K key;
+        final V value;
+        final long deadline; // in ticks
+        Timer<K, V> prev;
+        Timer<K, V> next;
+        Timer<K, V>[] bucket;
+        int slot;
+
+        Timer(K key, V value, long deadline) {
+            this.key = key;
+            this.value = value;
+            this.deadline = deadline;
+        }
+    }
+
+    private final long tickMillis;
+    private final Timer<K, V>[][] wheels;
+    private final Map<K, Timer<K, V>> byKey = new HashMap<>();
+    private long current;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.wheels = (Timer<K, V>[][]) new Timer<?, ?>[LEVELS][SLOTS];
+        this.current = nowMillis / tickMillis;
+    }
+
+    /** Schedules {@code value} at {@code deadlineMillis}, replacing the key's timer if any. */
+    void schedule(K key, V value, long deadlineMillis) {
+        cancel(key);
+        Timer<K, V> t = new Timer<>(key, value, deadlineMillis / tickMillis);
+        byKey.put(key, t);
+        // The current tick has been handled already
+        file(t, 1);
+    }
+
+    /** Same as {@link #schedule} unless the key already has a timer; returns whether it was added. */
+    boolean scheduleIfAbsent(K key, V value, long deadlineMillis) {
+        if (byKey.containsKey(key)) {
+            return false;
+        }
+        schedule(key, value, deadlineMillis);
+        return true;
+    }
+
+    /** Removes the key's timer; returns its value, or null if there was none. */
+    V cancel(K key) {
+        Timer<K, V> t = byKey.remove(key);
+        if (t == null) {
+            return null;
+        }
+        unlink(t);
+        return t.value;
+    }
+
+    int size() {
+        return byKey.size();
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns the values of every
+     * timer that came due, tick by tick. Their keys are free again.
+     */
+    List<V> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<V> due = new ArrayList<>();
+        while (current < target) {
+            current++;
+            cascade();
+            Timer<K, V>[] level0 = wheels[0];
+            int slot = (int) (current & MASK);
+            for (Timer<K, V> t = level0[slot]; t != null; t = level0[slot]) {
+                unlink(t);
+                byKey.remove(t.key);
+                due.add(t.value);
+            }
+        }
+        return due;
+    }
+
+    /** When lower levels wrap, re-files the current slot of each level above, top down. */
+    private void cascade() {
+        int top = 0;
+        while (top < LEVELS - 1 && (current & ((1L << (SHIFT * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            Timer<K, V>[] wheel = wheels[level];
+            int slot = (int) ((current >>> (SHIFT * level)) & MASK);
+            Timer<K, V> t = wheel[slot];
+            wheel[slot] = null;
+            while (t != null) {
+                Timer<K, V> next = t.next;
+                t.prev = t.next = null;
+                t.bucket = null;
+                file(t, 0);
+                t = next;
+            }
+        }
+    }
+
+    private void file(Timer<K, V> t, long minDelta) {
+        long delta = Math.max(t.deadline - current, minDelta);
+        long at = current + Math.min(delta, MAX_DELTA);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SHIFT * (level + 1))) {
+            level++;
+        }
+        Timer<K, V>[] wheel = wheels[level];
+        int slot = (int) ((at >>> (SHIFT * level)) & MASK);
+        t.bucket = wheel;
+        t.slot = slot;
+        t.next = wheel[slot];
+        if (t.next != null) {
+            t.next.prev = t;
+        }
+        wheel[slot] = t;
+    }
+
+    private void unlink(Timer<K, V> t) {
+        if (t.bucket == null) {
+            return;
+        }
+        if (t.prev != null) {
+            t.prev.next = t.next;
+        } else {
+            t.bucket[t.slot] = t.next;
+        }
+        if (t.next != null) {
+            t.next.prev = t.prev;
+        }
+        t.prev = t.next = null;
+        t.bucket = null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.CRM.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.dto.UnreadCounts;
+import com.example.CRM.event.MessageSentEvent;
+import com.example.CRM.event.MessagesReadEvent;
+import com.example.CRM.repository.MessageRepo;
+
+/**
+ * In-memory unread message counts per receiver and sender, so the unread badge
+ * never counts rows. Moved by the message events after commit and recounted from
+ * the database periodically (and at startup), like {@link PipelineCounters}.
+ */
+@Component
+public class UnreadCounters {
+
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, LongAdder>> byReceiver = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MessageRepo messageRepo;
+
+    public UnreadCounts forUser(Long userId) {
+        Map<Long, Long> bySender = new LinkedHashMap<>();
+        long total = 0;
+        Map<Long, LongAdder> row = byReceiver.get(userId);
+        if (row != null) {
+            for (Map.Entry<Long, LongAdder> e : row.entrySet()) {
+                long n = e.getValue().sum();
+                if (n > 0) {
+                    bySender.put(e.getKey(), n);
+                    total += n;
+                }
+            }
+        }
+        return new UnreadCounts(total, bySender);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent e) {
+        adder(e.receiverId(), e.senderId()).increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessagesRead(MessagesReadEvent e) {
+        if (e.count() > 0) {
+            adder(e.readerId(), e.senderId()).add(-e.count());
+        }
+    }
+
+    /**
+     * Recounts from the database and corrects the counters in place.
+     */
+    @Scheduled(fixedDelayString = "${crm.messages.unread-reconcile-interval:PT15M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Map<Long, Map<Long, Long>> fresh = new HashMap<>();
+        for (Object[] r : messageRepo.countUnreadByReceiverAndSender()) {
+            if (r[0] != null && r[1] != null) {
+                fresh.computeIfAbsent((Long) r[0], k -> new HashMap<>()).put((Long) r[1], ((Number) r[2]).longValue());
+            }
+        }
+        for (Long receiver : List.copyOf(byReceiver.keySet())) {
+            Map<Long, Long> counts = fresh.getOrDefault(receiver, Map.of());
+            byReceiver.get(receiver).forEach((sender, adder) -> {
+                if (!counts.containsKey(sender)) {
+                    adder.add(-adder.sum());
+                }
+            });
+        }
+        fresh.forEach((receiver, counts) -> counts.forEach((sender, n) -> {
+            LongAdder adder = adder(receiver, sender);
+            adder.add(n - adder.sum());
+        }));
+    }
+
+    private LongAdder adder(Long receiverId, Long senderId) {
+        return byReceiver.computeIfAbsent(receiverId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(senderId, k -> new LongAdder());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.CRM.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.CRM.event.EmployeeChangedEvent;
+import com.example.CRM.model.Users;
+
+/**
+ * Small bounded cache of employee rows keyed by id, with a fixed time-to-live.
+ * Entries are detached snapshots and must be treated as read-only.
+ */
+@Component
+public class UserCache {
+
+    private record Entry(Users user, long expiresAt) {
+    }
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    public UserCache(@Value("${crm.user-cache.max-entries:1000}") int maxEntries,
+            @Value("${crm.user-cache.ttl:5m}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Users get(Long id, Function<Long, Users> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(id);
+        if (entry != null && now - entry.expiresAt() < 0) {
+            return entry.user();
+        }
+        Users user = loader.apply(id);
+        if (entries.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        entries.put(id, new Entry(user, now + ttlNanos));
+        return user;
+    }
+
+    public void evict(Long id) {
+        if (id != null) {
+            entries.remove(id);
+        }
+    }
+
+    public void evictAll() {
+        entries.clear();
+    }
+
+    // Cached rows embed their manager, so drop everything rather than just the one employee
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent e) {
+        evictAll();
+    }
+
+    /** Drops expired entries, or the one closest to expiry if none have expired. */
+    private void makeRoom(long now) {
+        entries.values().removeIf(e -> now - e.expiresAt() >= 0);
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.entrySet().stream()
+                .min((a, b) -> Long.compare(a.getValue().expiresAt(), b.getValue().expiresAt()))
+                .ifPresent(oldest -> entries.remove(oldest.getKey()));
+    }
+}
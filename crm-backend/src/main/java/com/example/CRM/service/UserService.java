@@ -1,12 +1,16 @@
 package com.example.CRM.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.example.CRM.event.EmployeeChangedEvent;
 import com.example.CRM.model.Users;
 import com.example.CRM.repository.UserRepo;
+import com.example.CRM.security.CrmUserDetails;
 
 @Service
 public class UserService {
@@ -14,17 +18,51 @@ public class UserService {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
     public void saveUser(Users u) {
         userRepo.save(u);
+        events.publishEvent(new EmployeeChangedEvent(u.getId()));
     }
 
     /**
      * Get the currently logged-in user based on Spring Security's context.
+     * Served from {@link UserCache}; the returned entity is shared and must not be modified.
      */
     public Users getCurrentUser() {
+        CrmUserDetails principal = getCurrentPrincipal();
+        if (principal != null) {
+            return userCache.get(principal.getId(), id -> userRepo.findById(id)
+                    .orElseThrow(() -> new UsernameNotFoundException(
+                            "User not found with username: " + principal.getUsername())));
+        }
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         return userRepo.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "User not found with username: " + username));
     }
+
+    /**
+     * True if the caller holds ROLE_ADMIN; read from the security context, no lookup.
+     */
+    public boolean isCurrentUserAdmin() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
+
+    /**
+     * The session principal, or null when the request was not authenticated through the login form.
+     */
+    public CrmUserDetails getCurrentPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CrmUserDetails principal) {
+            return principal;
+        }
+        return null;
+    }
 }
@@ -2,14 +2,13 @@ package com.example.CRM.service;
 
 import com.example.CRM.model.Users;
 import com.example.CRM.repository.UserRepo;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.example.CRM.security.CrmUserDetails;
+
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class UsersDetailsService implements UserDetailsService {
 
@@ -24,12 +23,7 @@ public class UsersDetailsService implements UserDetailsService {
         // 🔍 Find by username instead of email
         Users user = usersRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
- System.out.println("DEBUG user in DB => username:" + user.getUsername() +
-                       ", password:" + user.getPassword());
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword()) // hashed password
-                .authorities(new SimpleGrantedAuthority("ROLE_" + user.getRole().toUpperCase()))
-                .build();
+        // Built once at login; the session keeps id, role and name for later requests.
+        return CrmUserDetails.of(user);
     }
 }
@@ -0,0 +1,46 @@
+package com.example.CRM.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class JpaConfigTest {
+
+    private final BeanPostProcessor cursorFetch = JpaConfig.mysqlCursorFetchPostProcessor();
+
+    private static HikariDataSource dataSource(String url) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setJdbcUrl(url);
+        return ds;
+    }
+
+    @Test
+    void enablesCursorFetchOnMysql() {
+        HikariDataSource ds = dataSource("jdbc:mysql://localhost:3306/crm");
+        cursorFetch.postProcessAfterInitialization(ds, "dataSource");
+        assertEquals("true", ds.getDataSourceProperties().getProperty("useCursorFetch"));
+    }
+
+    @Test
+    void keepsAnExplicitSetting() {
+        HikariDataSource inUrl = dataSource("jdbc:mysql://localhost:3306/crm?useCursorFetch=false");
+        cursorFetch.postProcessAfterInitialization(inUrl, "dataSource");
+        assertFalse(inUrl.getDataSourceProperties().containsKey("useCursorFetch"));
+
+        HikariDataSource inProperties = dataSource("jdbc:mysql://localhost:3306/crm");
+        inProperties.addDataSourceProperty("useCursorFetch", "false");
+        cursorFetch.postProcessAfterInitialization(inProperties, "dataSource");
+        assertEquals("false", inProperties.getDataSourceProperties().getProperty("useCursorFetch"));
+    }
+
+    @Test
+    void leavesOtherDatabasesAlone() {
+        HikariDataSource ds = dataSource("jdbc:h2:mem:crm");
+        cursorFetch.postProcessAfterInitialization(ds, "dataSource");
+        assertFalse(ds.getDataSourceProperties().containsKey("useCursorFetch"));
+    }
+}
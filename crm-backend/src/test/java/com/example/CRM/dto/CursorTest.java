@@ -0,0 +1,30 @@
+package com.example.CRM.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class CursorTest {
+
+    @Test
+    void roundTrips() {
+        Cursor c = new Cursor(LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_456_000), 42L);
+        assertEquals(c, Cursor.decode(c.encode()));
+    }
+
+    @Test
+    void roundTripsWithoutCreatedAt() {
+        Cursor c = new Cursor(null, 7L);
+        assertEquals(c, Cursor.decode(c.encode()));
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(new Cursor(null, 1L).encode().substring(1)));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("bnVsbHwx")); // "null|1"
+    }
+}
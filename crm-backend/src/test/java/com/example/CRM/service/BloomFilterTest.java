@@ -0,0 +1,54 @@
+package com.example.CRM.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAnAddedKey() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("e:user" + i + "@example.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("e:user" + i + "@example.com"), "lost key " + i);
+        }
+    }
+
+    @Test
+    void keepsAddedKeysWhenOverfilled() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            filter.add("p:" + (9_000_000_000L + i));
+        }
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain("p:" + (9_000_000_000L + i)));
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        assertFalse(filter.mightContain("e:ann@example.com"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("in:" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("out:" + i)) {
+                falsePositives++;
+            }
+        }
+        // 1% target; allow generous slack so the test is not flaky
+        assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+    }
+}
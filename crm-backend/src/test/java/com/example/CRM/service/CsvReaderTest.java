@@ -0,0 +1,81 @@
+package com.example.CRM.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void splitsPlainRecords() throws IOException {
+        assertEquals(List.of(List.of("name", "email"), List.of("Ann", "ann@x.com")),
+                readAll("name,email\nAnn,ann@x.com\n"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertEquals(List.of(List.of("", "b", "")), readAll(",b,"));
+    }
+
+    @Test
+    void quotedFieldsMayHoldCommasAndDoubledQuotes() throws IOException {
+        assertEquals(List.of(List.of("Acme, Inc.", "say \"hi\"", "x")),
+                readAll("\"Acme, Inc.\",\"say \"\"hi\"\"\",x\n"));
+    }
+
+    @Test
+    void quotedFieldsMayHoldLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,\"line one\nline two\"\nb,c\n"));
+        assertEquals(List.of("a", "line one\nline two"), reader.next());
+        assertEquals(1, reader.getRecordLine());
+        assertEquals(List.of("b", "c"), reader.next());
+        assertEquals(3, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void acceptsCrLfAndSkipsBlankLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b\r\n\r\n\nc,d"));
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("c", "d"), reader.next());
+        assertEquals(4, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void skipsLeadingByteOrderMark() throws IOException {
+        assertEquals(List.of(List.of("name", "email")), readAll("\uFEFFname,email\n"));
+        assertEquals(List.of(List.of("name")), readAll("\uFEFF\"name\""));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertEquals(List.of(), readAll(""));
+        assertEquals(List.of(), readAll("\uFEFF"));
+    }
+
+    @Test
+    void unterminatedQuoteReportsTheRecordLine() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b\nc,\"open\nstill open"));
+        reader.next();
+        CsvReader.MalformedCsvException e = assertThrows(CsvReader.MalformedCsvException.class, reader::next);
+        assertEquals(2, e.getLine());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.CRM.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DedupeIndexTest {
+
+    @Test
+    void emailKeyIgnoresCaseAndSurroundingSpace() {
+        assertEquals("e:ann@example.com", DedupeIndex.emailKey("  Ann@Example.COM "));
+    }
+
+    @Test
+    void emailKeyDropsPlusTags() {
+        assertEquals("e:ann@example.com", DedupeIndex.emailKey("ann+newsletter@example.com"));
+        assertEquals("e:ann@example.com", DedupeIndex.emailKey("ann+a+b@example.com"));
+        // A leading plus is the whole local part, not a tag
+        assertEquals("e:+ann@example.com", DedupeIndex.emailKey("+ann@example.com"));
+    }
+
+    @Test
+    void emailKeyFoldsGmailDots() {
+        assertEquals("e:johnsmith@gmail.com", DedupeIndex.emailKey("John.Smith@gmail.com"));
+        assertEquals("e:johnsmith@gmail.com", DedupeIndex.emailKey("j.o.h.n.smith+crm@googlemail.com"));
+        // Dots matter everywhere else
+        assertEquals("e:john.smith@example.com", DedupeIndex.emailKey("john.smith@example.com"));
+    }
+
+    @Test
+    void emailKeyRejectsMalformedAddresses() {
+        assertNull(DedupeIndex.emailKey(null));
+        assertNull(DedupeIndex.emailKey(""));
+        assertNull(DedupeIndex.emailKey("no-at-sign"));
+        assertNull(DedupeIndex.emailKey("@example.com"));
+        assertNull(DedupeIndex.emailKey("ann@"));
+    }
+
+    @Test
+    void phoneKeyKeepsTheLastTenDigits() {
+        assertEquals("p:9876543210", DedupeIndex.phoneKey("9876543210"));
+        assertEquals("p:9876543210", DedupeIndex.phoneKey("+91 98765-43210"));
+        assertEquals("p:9876543210", DedupeIndex.phoneKey("0019876543210"));
+        assertEquals("p:2025550143", DedupeIndex.phoneKey("(202) 555-0143"));
+    }
+
+    @Test
+    void phoneKeyRejectsShortOrMissingNumbers() {
+        assertNull(DedupeIndex.phoneKey(null));
+        assertNull(DedupeIndex.phoneKey(""));
+        assertNull(DedupeIndex.phoneKey("555-0143"));
+        assertNull(DedupeIndex.phoneKey("12345abc6789"));
+    }
+
+    @Test
+    void keysSkipWhatCannotBeKeyed() {
+        assertEquals(List.of("e:ann@example.com", "p:9876543210"),
+                DedupeIndex.keys("Ann@example.com", "9876543210"));
+        assertEquals(List.of("p:9876543210"), DedupeIndex.keys("not an email", "9876543210"));
+        assertEquals(List.of(), DedupeIndex.keys(null, "123"));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.CRM.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.CRM.dto.ImportReport;
+import com.example.CRM.model.Users;
+import com.example.CRM.repository.LeadRepo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+class LeadImportServiceTest {
+
+    private static final String HEADER = "name,email,phone\n";
+
+    private final ValidatorFactory validation = Validation.buildDefaultValidatorFactory();
+    private final LeadRepo leadRepo = mock(LeadRepo.class);
+    private final DedupeIndex dedupeIndex = mock(DedupeIndex.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final LeadImportService service = new LeadImportService();
+    private final Users owner = new Users();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "leadRepo", leadRepo);
+        ReflectionTestUtils.setField(service, "validator", validation.getValidator());
+        ReflectionTestUtils.setField(service, "dedupeIndex", dedupeIndex);
+        ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(service, "events", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        when(dedupeIndex.findMatches(anyString(), anyString())).thenReturn(List.of());
+        when(leadRepo.findExistingEmails(anyCollection())).thenReturn(List.of());
+        owner.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validation.close();
+    }
+
+    private ImportReport importCsv(String csv, boolean force) throws IOException {
+        return service.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), owner, force);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void commitChunks() {
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    @Test
+    void importsValidRows() throws IOException {
+        commitChunks();
+        ImportReport report = importCsv(HEADER + "Ann,ann@x.com,9876543210\nBob,bob@x.com,9876543211\n", false);
+        assertEquals(2, report.imported());
+        assertEquals(0, report.failed());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsTheChunkWhenTheFlushHitsTheUniqueIndex() throws IOException {
+        doThrow(new ConstraintViolationException("could not execute batch",
+                new SQLException("Duplicate entry 'ann@x.com' for key 'leads.email'"), "leads.email"))
+                .when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+
+        ImportReport report = importCsv(HEADER + "Ann,ann@x.com,9876543210\nBob,bob@x.com,9876543211\n", false);
+
+        assertEquals(0, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(List.of(2L, 3L), report.errors().stream().map(ImportReport.RowError::line).toList());
+        assertTrue(report.errors().get(0).messages().get(0).contains("Duplicate entry"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsTheChunkWhenTheCommitHitsTheUniqueIndex() throws IOException {
+        doThrow(new DataIntegrityViolationException("commit failed", new SQLException("unique violation")))
+                .when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+
+        ImportReport report = importCsv(HEADER + "Ann,ann@x.com,9876543210\n", false);
+
+        assertEquals(0, report.imported());
+        assertEquals(1, report.failed());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forcedImportMatchesExistingEmailsIgnoringCase() throws IOException {
+        when(leadRepo.findExistingEmails(anyCollection())).thenReturn(List.of("Ann@X.com"));
+
+        ImportReport report = importCsv(HEADER + "Ann,ann@x.com,9876543210\n", true);
+
+        assertEquals(0, report.imported());
+        assertEquals(List.of("email: a lead with this email already exists"), report.errors().get(0).messages());
+        verify(transactionTemplate, never()).executeWithoutResult(any(Consumer.class));
+    }
+
+    @Test
+    void rowsDifferingOnlyInEmailCaseAreDuplicates() throws IOException {
+        commitChunks();
+        ImportReport report = importCsv(HEADER + "Ann,ann@x.com,9876543210\nAnn,ANN@x.com,9876543211\n", true);
+        assertEquals(1, report.imported());
+        assertEquals(List.of("email: duplicate of an earlier row in this file"), report.errors().get(0).messages());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.CRM.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    // Widest delta the wheel files without parking, in ticks
+    private static final long SPAN = (long) Math.pow(TimingWheel.SLOTS, TimingWheel.LEVELS) - 1;
+
+    /** One-millisecond ticks starting at {@code now}. */
+    private static TimingWheel<String, String> wheel(long now) {
+        return new TimingWheel<>(1, now);
+    }
+
+    /** Asserts the timer does not fire on the tick before its deadline but does on the deadline. */
+    private static void assertFiresAt(TimingWheel<String, String> w, String value, long deadline) {
+        assertEquals(List.of(), w.advance(deadline - 1), "fired early: " + value);
+        assertEquals(List.of(value), w.advance(deadline), "did not fire: " + value);
+    }
+
+    @Test
+    void firesOnTheDeadlineTick() {
+        TimingWheel<String, String> w = wheel(0);
+        w.schedule("a", "A", 5);
+        assertEquals(1, w.size());
+        assertFiresAt(w, "A", 5);
+        assertEquals(0, w.size());
+    }
+
+    @Test
+    void firesAcrossLevelBoundaries() {
+        long slots = TimingWheel.SLOTS;
+        long[] deadlines = {slots - 1, slots, slots + 1, slots * slots - 1, slots * slots, slots * slots + 1,
+                slots * slots * slots - 1, slots * slots * slots, slots * slots * slots + 1, SPAN};
+        for (long start : new long[] {0, 37}) {
+            TimingWheel<String, String> w = wheel(start);
+            for (long d : deadlines) {
+                w.schedule("k" + d, "v" + d, start + d);
+            }
+            for (long d : deadlines) {
+                assertFiresAt(w, "v" + d, start + d);
+            }
+            assertEquals(0, w.size());
+        }
+    }
+
+    @Test
+    void parksDeadlinesBeyondTheTopLevel() {
+        TimingWheel<String, String> w = wheel(0);
+        long far = 2 * SPAN + 12_345;
+        w.schedule("far", "FAR", far);
+        w.schedule("edge", "EDGE", SPAN + 1);
+        assertFiresAt(w, "EDGE", SPAN + 1);
+        assertFiresAt(w, "FAR", far);
+        assertEquals(0, w.size());
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        TimingWheel<String, String> w = wheel(1_000);
+        w.schedule("past", "PAST", 500);
+        w.schedule("now", "NOW", 1_000);
+        assertEquals(List.of(), w.advance(1_000));
+        List<String> due = w.advance(1_001);
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of("PAST", "NOW")));
+    }
+
+    @Test
+    void returnsDueValuesInTickOrder() {
+        TimingWheel<String, String> w = wheel(0);
+        w.schedule("c", "C", 300);
+        w.schedule("a", "A", 1);
+        w.schedule("b", "B", 70);
+        assertEquals(List.of("A", "B", "C"), w.advance(1_000));
+    }
+
+    @Test
+    void convertsMillisToTicks() {
+        TimingWheel<String, String> w = new TimingWheel<>(10, 0);
+        w.schedule("a", "A", 25);
+        assertEquals(List.of(), w.advance(19));
+        assertEquals(List.of("A"), w.advance(29));
+    }
+
+    @Test
+    void cancelRemovesTheTimer() {
+        TimingWheel<String, String> w = wheel(0);
+        w.schedule("a", "A", 10);
+        assertEquals("A", w.cancel("a"));
+        assertNull(w.cancel("a"));
+        assertEquals(0, w.size());
+        assertEquals(List.of(), w.advance(100));
+    }
+
+    @Test
+    void cancelUnlinksFromTheMiddleOfASlot() {
+        TimingWheel<String, String> w = wheel(0);
+        w.schedule("a", "A", 10);
+        w.schedule("b", "B", 10);
+        w.schedule("c", "C", 10);
+        w.cancel("b");
+        List<String> due = w.advance(10);
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of("A", "C")));
+    }
+
+    @Test
+    void cancelAfterCascadingDown() {
+        TimingWheel<String, String> w = wheel(0);
+        w.schedule("a", "A", 100);
+        assertEquals(List.of(), w.advance(70));
+        assertEquals("A", w.cancel("a"));
+        assertEquals(List.of(), w.advance(200));
+    }
+
+    @Test
+    void rescheduleReplacesTheTimer() {
+        TimingWheel<String, String> w = wheel(0);
+        w.schedule("a", "A1", 10);
+        w.schedule("a", "A2", 5_000);
+        assertEquals(1, w.size());
+        assertEquals(List.of(), w.advance(10));
+        assertFiresAt(w, "A2", 5_000);
+    }
+
+    @Test
+    void scheduleIfAbsentKeepsTheExistingTimer() {
+        TimingWheel<String, String> w = wheel(0);
+        assertTrue(w.scheduleIfAbsent("a", "A1", 10));
+        assertFalse(w.scheduleIfAbsent("a", "A2", 20));
+        assertFiresAt(w, "A1", 10);
+        assertTrue(w.scheduleIfAbsent("a", "A3", 20));
+        assertFiresAt(w, "A3", 20);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.CRM.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.CRM.service.UsersDetailsService;
+
+/**
+ * The login path: {@code UsersDetailsService.loadUserByUsername} (one indexed
+ * lookup), the BCrypt check on its own, and both together through the
+ * application's AuthenticationManager. BCrypt dominates by design; a jump in
+ * {@code bcryptMatches} means the work factor changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthBenchmark {
+
+    ConfigurableApplicationContext ctx;
+    UsersDetailsService usersDetailsService;
+    PasswordEncoder passwordEncoder;
+    AuthenticationManager authenticationManager;
+    String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchApp.start();
+        usersDetailsService = ctx.getBean(UsersDetailsService.class);
+        passwordEncoder = ctx.getBean(PasswordEncoder.class);
+        authenticationManager = ctx.getBean(AuthenticationManager.class);
+        hash = BenchApp.employee(ctx, "owner").getPassword();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return usersDetailsService.loadUserByUsername("owner");
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(BenchApp.PASSWORD, hash);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("owner", BenchApp.PASSWORD));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.CRM.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.CRM.CrmApplication;
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Users;
+import com.example.CRM.repository.UserRepo;
+import com.example.CRM.service.LeadService;
+
+/**
+ * Boots the real application against a private in-memory H2 database (in
+ * PostgreSQL mode, schema from the entities) and seeds it through the same
+ * services the controllers use, so caches and in-memory indexes are populated
+ * as in production.
+ */
+final class BenchApp {
+
+    static final String PASSWORD = "secret1";
+
+    private static final AtomicLong phones = new AtomicLong(7_000_000_000L);
+
+    private BenchApp() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        List<String> props = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.open-in-view=false",
+                "spring.main.banner-mode=off",
+                "spring.devtools.restart.enabled=false",
+                "server.port=0",
+                "logging.level.root=WARN"));
+        props.addAll(List.of(extraProperties));
+        return new SpringApplicationBuilder(CrmApplication.class)
+                .properties(props.toArray(String[]::new))
+                .run();
+    }
+
+    static Users employee(ConfigurableApplicationContext ctx, String username) {
+        Users u = new Users();
+        u.setName(username);
+        u.setUsername(username);
+        u.setEmail(username + "@bench.example");
+        u.setPassword(ctx.getBean(PasswordEncoder.class).encode(PASSWORD));
+        u.setRole("employee");
+        u.setDepartment("sales");
+        u.setPhone_number(phones.incrementAndGet());
+        return ctx.getBean(UserRepo.class).save(u);
+    }
+
+    /** Creates {@code n} leads for {@code owner}; returns their ids. */
+    static List<Long> leads(ConfigurableApplicationContext ctx, Users owner, int n) {
+        LeadService leadService = ctx.getBean(LeadService.class);
+        List<Long> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Lead l = new Lead();
+            l.setName("Lead " + i);
+            l.setEmail(owner.getUsername() + "." + i + "@lead.example");
+            l.setPhone(String.valueOf(phones.incrementAndGet()));
+            l.setCompany(i % 3 == 0 ? null : "Company " + (i % 97));
+            l.setStatus(Lead.LeadStatus.NEW);
+            l.setAssignedTo(owner);
+            leadService.saveLead(l, true);
+            ids.add(l.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.CRM.bench;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Users;
+import com.example.CRM.service.LeadService;
+
+/**
+ * {@code LeadService.updateLeadForUser} on one lead of a portfolio of
+ * {@code portfolio} leads. It should stay flat as the portfolio grows: the
+ * update touches only the row being patched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeadUpdateBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int portfolio;
+
+    ConfigurableApplicationContext ctx;
+    LeadService leadService;
+    Users owner;
+    List<Long> leadIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchApp.start();
+        leadService = ctx.getBean(LeadService.class);
+        owner = BenchApp.employee(ctx, "owner");
+        leadIds = BenchApp.leads(ctx, owner, portfolio);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public String statusChange() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Lead patch = new Lead();
+        patch.setId(leadIds.get(random.nextInt(leadIds.size())));
+        patch.setStatus(random.nextBoolean() ? Lead.LeadStatus.CONTACTED : Lead.LeadStatus.QUALIFIED);
+        return leadService.updateLeadForUser(patch, owner);
+    }
+
+    @Benchmark
+    public String contactChange() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Lead patch = new Lead();
+        patch.setId(leadIds.get(random.nextInt(leadIds.size())));
+        patch.setCompany("Renamed " + random.nextInt(1000));
+        return leadService.updateLeadForUser(patch, owner);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.CRM.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.CRM.dto.LeadView;
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Users;
+import com.example.CRM.repository.LeadRepo;
+import com.example.CRM.service.LeadService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A "my leads" list response of {@code size} rows, read and serialized with the
+ * application's ObjectMapper. {@code entityMaps} is the original controller
+ * shape (load entities, copy each into a HashMap) kept as a baseline for
+ * {@code views}, the column projection the endpoints use now;
+ * {@code serializeOnly} isolates the JSON cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListResponseBenchmark {
+
+    @Param({"50", "500"})
+    int size;
+
+    ConfigurableApplicationContext ctx;
+    LeadService leadService;
+    LeadRepo leadRepo;
+    ObjectMapper objectMapper;
+    Users owner;
+    List<LeadView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchApp.start();
+        leadService = ctx.getBean(LeadService.class);
+        leadRepo = ctx.getBean(LeadRepo.class);
+        objectMapper = ctx.getBean(ObjectMapper.class);
+        owner = BenchApp.employee(ctx, "owner");
+        BenchApp.leads(ctx, owner, size);
+        views = leadService.getLeadsByAssignedTo(owner);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public String entityMaps() throws JsonProcessingException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Lead l : leadRepo.findByAssignedTo(owner)) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", l.getId());
+            row.put("name", l.getName());
+            row.put("email", l.getEmail());
+            row.put("phone", l.getPhone());
+            row.put("company", l.getCompany());
+            row.put("status", l.getStatus());
+            row.put("createdAt", l.getCreatedAt());
+            row.put("updatedAt", l.getUpdatedAt());
+            row.put("assignedToName", l.getAssignedTo().getName());
+            rows.add(row);
+        }
+        return objectMapper.writeValueAsString(rows);
+    }
+
+    @Benchmark
+    public String views() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(leadService.getLeadsByAssignedTo(owner));
+    }
+
+    @Benchmark
+    public String serializeOnly() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(views);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.CRM.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.CRM.dto.UserOverview;
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Task;
+import com.example.CRM.model.Users;
+import com.example.CRM.service.LeadService;
+import com.example.CRM.service.OverviewService;
+import com.example.CRM.service.TaskService;
+
+/**
+ * The composite overview read in platform-thread mode (its three pages read
+ * one after the other) against virtual-thread mode (read concurrently through
+ * FanOut), for one caller and for 32 concurrent callers sharing the default
+ * 10-connection pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverviewBenchmark {
+
+    @Param({"platform", "virtual"})
+    String threads;
+
+    ConfigurableApplicationContext ctx;
+    OverviewService overviewService;
+    Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchApp.start("spring.threads.virtual.enabled=" + threads.equals("virtual"));
+        overviewService = ctx.getBean(OverviewService.class);
+        Users owner = BenchApp.employee(ctx, "owner");
+        ownerId = owner.getId();
+        List<Long> leads = BenchApp.leads(ctx, owner, 2000);
+        TaskService taskService = ctx.getBean(TaskService.class);
+        for (int i = 0; i < 500; i++) {
+            Lead lead = new Lead();
+            lead.setId(leads.get(i));
+            Task t = new Task();
+            t.setTitle("Call back " + i);
+            t.setRelatedLead(lead);
+            taskService.createTask(t, owner);
+        }
+        ctx.getBean(LeadService.class).bulkUpdateStatus(leads.subList(1000, 1500), Lead.LeadStatus.CONVERTED, owner);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public UserOverview oneCaller() {
+        return overviewService.getOverview(ownerId, 50);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public UserOverview concurrentCallers() {
+        return overviewService.getOverview(ownerId, 50);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.CRM.bench;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.CRM.model.Lead;
+import com.example.CRM.model.Task;
+import com.example.CRM.model.Users;
+import com.example.CRM.service.TaskService;
+
+/**
+ * {@code TaskService.createTask}, whose cost is mostly the check that the
+ * related lead belongs to the caller. {@code rejected} measures that check
+ * alone, against another employee's lead, so nothing is inserted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskCreateBenchmark {
+
+    @Param({"100", "10000"})
+    int portfolio;
+
+    ConfigurableApplicationContext ctx;
+    TaskService taskService;
+    Users owner;
+    List<Long> ownLeads;
+    List<Long> foreignLeads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchApp.start();
+        taskService = ctx.getBean(TaskService.class);
+        owner = BenchApp.employee(ctx, "owner");
+        ownLeads = BenchApp.leads(ctx, owner, portfolio);
+        foreignLeads = BenchApp.leads(ctx, BenchApp.employee(ctx, "other"), 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public String created() {
+        return taskService.createTask(task(ownLeads), owner);
+    }
+
+    @Benchmark
+    public String rejected() {
+        return taskService.createTask(task(foreignLeads), owner);
+    }
+
+    private static Task task(List<Long> leads) {
+        Lead lead = new Lead();
+        lead.setId(leads.get(ThreadLocalRandom.current().nextInt(leads.size())));
+        Task t = new Task();
+        t.setTitle("Follow up");
+        t.setRelatedLead(lead);
+        return t;
+    }
+}
@@ -5,37 +5,25 @@ import { BarChart, Bar, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContaine
 import { Users, UserCheck, TrendingUp, Phone, UserPlus, CheckSquare } from 'lucide-react';
 import Link from 'next/link';
 
-interface Lead {
-  id: string;
-  name: string;
-  email: string;
-  phone: string;
-  company: string;
-  status: string;
-  createdAt: string;
-  updatedAt: string;
-  assignedToName: string;
-}
-
-interface Task {
-  id: string;
-  title: string;
-  description: string;
-  status: string;
-  dueDate: string;
-  assignedTo: string | null;
-  relatedLeadName: string | null;
-  relatedCompany: string | null;
+interface SummaryMonth {
+  month: number;
+  leads: number;
+  conversions: number;
+  tasksDue: number;
+  calls: number;
 }
 
-interface Client {
-  id: string;
-  name: string;
-  email: string;
-  phone: string;
-  company: string;
-  createdAt: string;
-  assignedToName: string;
+interface DashboardSummary {
+  scope: string;
+  year: number;
+  leads: number;
+  clients: number;
+  tasks: number;
+  leadsByStatus: Record<string, number>;
+  tasksByStatus: Record<string, number>;
+  tasksDueToday: number;
+  callsDueToday: number;
+  months: SummaryMonth[];
 }
 
 interface MonthlyData {
@@ -53,9 +41,7 @@ interface TaskStatus {
 
 const EmployeeDashboard = () => {
   const [timeframe, setTimeframe] = useState('month');
-  const [leads, setLeads] = useState<Lead[]>([]);
-  const [tasks, setTasks] = useState<Task[]>([]);
-  const [clients, setClients] = useState<Client[]>([]);
+  const [summary, setSummary] = useState<DashboardSummary | null>(null);
   const [employeeData, setEmployeeData] = useState<MonthlyData[]>([]);
   const [taskData, setTaskData] = useState<TaskStatus[]>([]);
   const [isLoading, setIsLoading] = useState(true);
@@ -68,71 +54,30 @@ const EmployeeDashboard = () => {
     setIsLoading(true);
     setError(null);
     try {
-      const leadsResponse = await fetch('http://localhost:8080/api/leads/myLeads', {
-        method: 'GET',
-        credentials: 'include',
-        headers: { 'Content-Type': 'application/json' },
-      });
-      if (!leadsResponse.ok) {
-        if (leadsResponse.status === 401) throw new Error('Please log in to access the dashboard');
-        if (leadsResponse.status === 403) throw new Error('Access denied: Employee role required');
-        throw new Error(`Failed to fetch leads: ${leadsResponse.status} ${leadsResponse.statusText}`);
-      }
-      const leadsData: Lead[] = await leadsResponse.json();
-      setLeads(leadsData);
-
-      const tasksResponse = await fetch('http://localhost:8080/api/tasks/myTasks', {
-        method: 'GET',
-        credentials: 'include',
-        headers: { 'Content-Type': 'application/json' },
-      });
-      if (!tasksResponse.ok) {
-        if (tasksResponse.status === 401) throw new Error('Please log in to access the dashboard');
-        if (tasksResponse.status === 403) throw new Error('Access denied: Employee role required');
-        throw new Error(`Failed to fetch tasks: ${tasksResponse.status} ${tasksResponse.statusText}`);
-      }
-      const tasksData: Task[] = await tasksResponse.json();
-      setTasks(tasksData);
-
-      const clientsResponse = await fetch('http://localhost:8080/api/clients/myClients', {
+      const currentYear = now.getFullYear();
+      const summaryResponse = await fetch(`http://localhost:8080/api/dashboard/summary?year=${currentYear}`, {
         method: 'GET',
         credentials: 'include',
         headers: { 'Content-Type': 'application/json' },
       });
-      if (!clientsResponse.ok) {
-        if (clientsResponse.status === 401) throw new Error('Please log in to access the dashboard');
-        if (clientsResponse.status === 403) throw new Error('Access denied: Employee role required');
-        throw new Error(`Failed to fetch clients: ${clientsResponse.status} ${clientsResponse.statusText}`);
+      if (!summaryResponse.ok) {
+        if (summaryResponse.status === 401) throw new Error('Please log in to access the dashboard');
+        if (summaryResponse.status === 403) throw new Error('Access denied: Employee role required');
+        throw new Error(`Failed to fetch dashboard: ${summaryResponse.status} ${summaryResponse.statusText}`);
       }
-      const clientsData: Client[] = await clientsResponse.json();
-      setClients(clientsData);
+      const summaryData: DashboardSummary = await summaryResponse.json();
+      setSummary(summaryData);
 
-      const currentYear = now.getFullYear();
       const months = ['Jan', 'Feb', 'Mar', 'Apr', 'May', 'Jun', 'Jul', 'Aug', 'Sep', 'Oct', 'Nov', 'Dec'];
-      const monthlyData: MonthlyData[] = months.map((month, index) => {
-        const monthLeads = leadsData.filter(lead => {
-          const leadDate = new Date(lead.createdAt);
-          return leadDate.getMonth() === index && leadDate.getFullYear() === currentYear;
-        }).length;
-        const monthConversions = clientsData.filter(client => {
-          const clientDate = new Date(client.createdAt);
-          return clientDate.getMonth() === index && clientDate.getFullYear() === currentYear;
-        }).length;
-        const monthCalls = tasksData.filter(task => {
-          if (!task.dueDate) return false;
-          const taskDate = new Date(task.dueDate);
-          return taskDate.getMonth() === index && taskDate.getFullYear() === currentYear && task.description?.toLowerCase().includes('call');
-        }).length;
-        return { month, myLeads: monthLeads, converted: monthConversions, calls: monthCalls };
-      }).filter(data => data.myLeads > 0 || data.converted > 0 || data.calls > 0);
+      const monthlyData: MonthlyData[] = summaryData.months
+        .map(m => ({ month: months[m.month - 1], myLeads: m.leads, converted: m.conversions, calls: m.calls }))
+        .filter(data => data.myLeads > 0 || data.converted > 0 || data.calls > 0);
       setEmployeeData(monthlyData);
 
-      const statusCounts = tasksData.reduce((acc, task) => {
-        const status = task.status || 'Pending';
-        acc[status] = (acc[status] || 0) + 1;
-        return acc;
-      }, {} as Record<string, number>);
-      const totalTasks = tasksData.length;
+      const statusCounts = Object.fromEntries(
+        Object.entries(summaryData.tasksByStatus).filter(([, count]) => count > 0)
+      );
+      const totalTasks = summaryData.tasks;
       const taskStatusData: TaskStatus[] = Object.entries(statusCounts).map(([name, count], index) => ({
         name: name.charAt(0).toUpperCase() + name.slice(1),
         value: totalTasks > 0 ? Math.round((count / totalTasks) * 100) : 0,
@@ -151,10 +96,10 @@ const EmployeeDashboard = () => {
     fetchData();
   }, [timeframe]);
 
-  const myLeads = leads.length;
-  const myConversions = clients.length;
+  const myLeads = summary?.leads ?? 0;
+  const myConversions = summary?.clients ?? 0;
   const myConversionRate = myLeads > 0 ? ((myConversions / myLeads) * 100).toFixed(1) : '0.0';
-  const totalCalls = tasks.filter(task => task.description?.toLowerCase().includes('call')).length;
+  const callsThisYear = summary?.months.reduce((sum, m) => sum + m.calls, 0) ?? 0;
 
   const StatCard = ({ icon: Icon, title, value, change, color }: { icon: React.ElementType; title: string; value: string | number; change: string; color: string }) => (
     <div className="bg-white rounded-2xl p-6 shadow-lg border border-gray-100 hover:shadow-xl transition-all duration-300 transform hover:-translate-y-1">
@@ -225,8 +170,8 @@ const EmployeeDashboard = () => {
         />
         <StatCard
           icon={Phone}
-          title="Total Calls"
-          value={totalCalls.toString()}
+          title="Calls This Year"
+          value={callsThisYear.toString()}
           change={employeeData.length > 1 ? `+${((employeeData[employeeData.length - 1].calls - employeeData[employeeData.length - 2].calls) / (employeeData[employeeData.length - 2].calls || 1) * 100).toFixed(1)}%` : '0.0%'}
           color="bg-orange-500"
         />
@@ -329,7 +274,7 @@ const EmployeeDashboard = () => {
         <div className="bg-gradient-to-r from-green-500 to-green-600 rounded-2xl p-6 text-white shadow-lg">
           <Phone className="w-8 h-8 mb-4 opacity-80" />
           <h3 className="text-lg font-bold mb-2">Follow-up Calls</h3>
-          <p className="text-green-100 mb-4">{tasks.filter(t => t.description?.toLowerCase().includes('call') && t.status === 'pending' && new Date(t.dueDate).toDateString() === now.toDateString()).length} leads need follow-up today</p>
+          <p className="text-green-100 mb-4">{summary?.callsDueToday ?? 0} leads need follow-up today</p>
           <Link href="/employee/tasks">
             <button className="bg-white text-green-600 px-4 py-2 rounded-lg font-medium hover:bg-green-50 transition-colors">
               View Calls
@@ -339,7 +284,7 @@ const EmployeeDashboard = () => {
         <div className="bg-gradient-to-r from-purple-500 to-purple-600 rounded-2xl p-6 text-white shadow-lg">
           <CheckSquare className="w-8 h-8 mb-4 opacity-80" />
           <h3 className="text-lg font-bold mb-2">Pending Tasks</h3>
-          <p className="text-purple-100 mb-4">{tasks.filter(t => t.status === 'pending' && new Date(t.dueDate).toDateString() === now.toDateString()).length} tasks due today</p>
+          <p className="text-purple-100 mb-4">{summary?.tasksDueToday ?? 0} tasks due today</p>
           <Link href="/employee/tasks">
             <button className="bg-white text-purple-600 px-4 py-2 rounded-lg font-medium hover:bg-purple-50 transition-colors">
               View Tasks